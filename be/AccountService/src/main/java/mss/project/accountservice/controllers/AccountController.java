@@ -17,6 +17,7 @@ import mss.project.accountservice.services.AccountService;
 import mss.project.accountservice.services.MailService;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/accounts")
@@ -44,6 +45,15 @@ public class AccountController {
         return accountService.findById(id);
     }
 
+    /**
+     * Batch lookup used by other services to resolve many accounts in one round trip.
+     * Unknown ids are simply absent from the returned map.
+     */
+    @PostMapping("/batch")
+    public Map<Long, AccountResponse> getAccountsByIds(@RequestBody List<Long> ids) {
+        return accountService.findAllByIds(ids);
+    }
+
     @GetMapping("/{id}/details")
     public Account getAccountById(@PathVariable Long id) {
         return accountService.getAccountById(id);
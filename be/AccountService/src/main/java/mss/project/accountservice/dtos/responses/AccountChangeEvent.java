@@ -0,0 +1,26 @@
+package mss.project.accountservice.dtos.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Notification published on the account events channel so that other services
+ * can evict their cached copy of the account.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountChangeEvent {
+    public static final String ROLE_CHANGED = "ROLE_CHANGED";
+    public static final String PROFILE_UPDATED = "PROFILE_UPDATED";
+    public static final String ACCOUNT_CREATED = "ACCOUNT_CREATED";
+
+    private String type;
+    private Long accountId;
+    private String email;
+}
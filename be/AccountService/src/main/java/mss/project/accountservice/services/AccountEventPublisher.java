@@ -0,0 +1,62 @@
+package mss.project.accountservice.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import mss.project.accountservice.dtos.responses.AccountChangeEvent;
+import mss.project.accountservice.pojos.Account;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Publishes account change notifications over Redis pub/sub.
+ * Consumers (e.g. the account near-cache in TopicApprovalService) evict entries on receipt.
+ */
+@Component
+public class AccountEventPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountEventPublisher.class);
+
+    private final StringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+
+    @Value("${account.events.channel:account-events}")
+    private String channel;
+
+    public AccountEventPublisher(StringRedisTemplate redis, ObjectMapper objectMapper) {
+        this.redis = redis;
+        this.objectMapper = objectMapper;
+    }
+
+    public void publish(String type, Account account) {
+        AccountChangeEvent event = AccountChangeEvent.builder()
+                .type(type)
+                .accountId(account.getId())
+                .email(account.getEmail())
+                .build();
+
+        // Chỉ publish sau khi commit để consumer không đọc lại dữ liệu cũ
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(event);
+                }
+            });
+        } else {
+            send(event);
+        }
+    }
+
+    private void send(AccountChangeEvent event) {
+        try {
+            redis.convertAndSend(channel, objectMapper.writeValueAsString(event));
+        } catch (Exception e) {
+            // Không làm hỏng thao tác chính; consumer vẫn còn TTL để tự làm mới
+            logger.warn("Failed to publish {} for account {}: {}", event.getType(), event.getAccountId(), e.getMessage());
+        }
+    }
+}
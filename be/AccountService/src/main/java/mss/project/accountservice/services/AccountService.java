@@ -7,7 +7,9 @@ import mss.project.accountservice.dtos.responses.PageResponse;
 import mss.project.accountservice.enums.Role;
 import mss.project.accountservice.pojos.Account;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface AccountService {
     Account findByEmail(String email);
@@ -15,6 +17,7 @@ public interface AccountService {
     Account getAccountById(Long id);
     List<Account> getAllAccounts();
     AccountResponse findById(Long id);
+    Map<Long, AccountResponse> findAllByIds(Collection<Long> ids);
 
     PageResponse<AccountPerPageResponse> getAccountsPaged(int page, int size, Account currentAccount);
 
@@ -1,6 +1,7 @@
 package mss.project.accountservice.services;
 
 import mss.project.accountservice.dtos.requests.UpdateAccountRequest;
+import mss.project.accountservice.dtos.responses.AccountChangeEvent;
 import mss.project.accountservice.dtos.responses.AccountPerPageResponse;
 import mss.project.accountservice.dtos.responses.AccountResponse;
 import mss.project.accountservice.dtos.responses.PageResponse;
@@ -17,10 +18,12 @@ import org.springframework.stereotype.Service;
 import mss.project.accountservice.pojos.Account;
 import mss.project.accountservice.repositories.AccountRepository;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
-import java.util.List;
-
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -30,6 +33,9 @@ public class AccountServiceImpl implements AccountService {
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private AccountEventPublisher accountEventPublisher;
+
     @Override
     public Account findByEmail(String email) {
         return accountRepository.findByEmail(email);
@@ -61,6 +67,20 @@ public class AccountServiceImpl implements AccountService {
         return getAccountResponse(account);
     }
 
+    @Override
+    public Map<Long, AccountResponse> findAllByIds(Collection<Long> ids) {
+        Map<Long, AccountResponse> result = new LinkedHashMap<>();
+        if (ids == null || ids.isEmpty()) {
+            return result;
+        }
+        // Một câu SELECT ... WHERE id IN (...) thay cho N lần gọi findById
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        for (Account account : accountRepository.findAllById(distinctIds)) {
+            result.put(account.getId(), getAccountResponse(account));
+        }
+        return result;
+    }
+
     @Override
     public PageResponse<AccountPerPageResponse> getAccountsPaged(int page, int size, Account currentAccount) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
@@ -113,6 +133,7 @@ public class AccountServiceImpl implements AccountService {
         }
         account.setPhoneNumber(request.getPhoneNumber());
         accountRepository.save(account);
+        accountEventPublisher.publish(AccountChangeEvent.PROFILE_UPDATED, account);
     }
 
     @Override
@@ -121,6 +142,7 @@ public class AccountServiceImpl implements AccountService {
                 .orElseThrow(() -> new AppException(ErrorCode.ACCOUNT_NOT_FOUND));
         account.setRole(role);
         accountRepository.save(account);
+        accountEventPublisher.publish(AccountChangeEvent.ROLE_CHANGED, account);
     }
 
     private AccountResponse getAccountResponse(Account account) {
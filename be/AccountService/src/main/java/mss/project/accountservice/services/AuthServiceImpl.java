@@ -7,6 +7,7 @@ import mss.project.accountservice.dtos.requests.ChangePasswordRequest;
 import mss.project.accountservice.dtos.requests.LoginRequest;
 import mss.project.accountservice.dtos.requests.RegisterRequest;
 import mss.project.accountservice.dtos.requests.SendMailRequest;
+import mss.project.accountservice.dtos.responses.AccountChangeEvent;
 import mss.project.accountservice.dtos.responses.LoginResponse;
 import mss.project.accountservice.enums.Role;
 import mss.project.accountservice.exceptions.AppException;
@@ -43,6 +44,9 @@ public class AuthServiceImpl implements AuthService {
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private AccountEventPublisher accountEventPublisher;
+
     @Override
     public LoginResponse login(LoginRequest request, HttpServletResponse httpResponse) {
         Account account = accountRepository.findByEmail(request.getEmail());
@@ -215,6 +219,7 @@ public class AuthServiceImpl implements AuthService {
             account.setFirstLogin(true);
             account.setActive(true);
             accountRepository.save(account);
+            accountEventPublisher.publish(AccountChangeEvent.ACCOUNT_CREATED, account);
             mailService.sendAccountProvisionEmail(request.getEmail(), tempPassword);
         }
     }
@@ -231,6 +236,7 @@ public class AuthServiceImpl implements AuthService {
         account.setPassword(passwordEncoder.encode(request.getNewPassword()));
         account.setFirstLogin(false);
         accountRepository.save(account);
+        accountEventPublisher.publish(AccountChangeEvent.PROFILE_UPDATED, account);
     }
 
 }
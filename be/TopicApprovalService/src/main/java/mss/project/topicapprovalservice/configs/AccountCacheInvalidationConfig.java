@@ -0,0 +1,71 @@
+package mss.project.topicapprovalservice.configs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import mss.project.topicapprovalservice.dtos.requests.AccountChangeEvent;
+import mss.project.topicapprovalservice.services.CachingAccountService;
+import mss.project.topicapprovalservice.services.ClaimsAuthorizationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Subscribes to the account change feed published by AccountService over Redis pub/sub
+ * and evicts the matching entries from the account near-cache.
+ */
+@Configuration
+@ConditionalOnProperty(name = "account.cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class AccountCacheInvalidationConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountCacheInvalidationConfig.class);
+
+    @Value("${account.events.channel:account-events}")
+    private String channel;
+
+    @Autowired
+    private ClaimsAuthorizationService claimsAuthorizationService;
+
+    @Bean
+    public RedisMessageListenerContainer accountEventsListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                        CachingAccountService cachingAccountService,
+                                                                        ObjectMapper objectMapper) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            try {
+                AccountChangeEvent event = objectMapper.readValue(body, AccountChangeEvent.class);
+                cachingAccountService.evict(event.getAccountId(), event.getEmail());
+                if (AccountChangeEvent.ROLE_CHANGED.equals(event.getType())) {
+                    claimsAuthorizationService.roleChanged(event.getAccountId());
+                }
+                logger.info("Account cache evicted after {} for account {}", event.getType(), event.getAccountId());
+            } catch (Exception e) {
+                // Không đọc được message thì xóa toàn bộ cache cho an toàn
+                logger.warn("Unreadable account event '{}', clearing account cache: {}", body, e.getMessage());
+                cachingAccountService.evictAll();
+                claimsAuthorizationService.roleEventsLost();
+            }
+        }, new ChannelTopic(channel));
+        return container;
+    }
+
+    /**
+     * Role claims are trusted only for tokens issued after the feed is subscribed; the
+     * container subscribes while the context starts, before the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void roleEventsAvailable() {
+        claimsAuthorizationService.roleEventsAvailable();
+    }
+}
@@ -0,0 +1,30 @@
+package mss.project.topicapprovalservice.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Bounded pool for council planning simulations, so a burst of dry runs cannot take over
+ * the request threads or the CPU.
+ */
+@Configuration
+public class CouncilPlanningConfig {
+
+    @Bean(name = "councilPlanningExecutor")
+    public ThreadPoolTaskExecutor councilPlanningExecutor(@Value("${council.planning.threads:4}") int threads,
+                                                          @Value("${council.planning.queue-capacity:32}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("council-planning-");
+        // Hàng đợi đầy thì chạy luôn trên thread gọi thay vì bỏ request
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,85 @@
+package mss.project.topicapprovalservice.configs;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.Map;
+
+/**
+ * Entities moved from IDENTITY columns to pooled sequences; ddl-auto=update creates those
+ * sequences starting at 1, below ids already in the table. On startup (after the schema
+ * update, before the web server and schedulers start) every pooled sequence is moved past
+ * {@code MAX(id) + allocationSize} of its table. Only runs on PostgreSQL; a no-op once the
+ * sequences are ahead. Instances starting together are serialized by an advisory lock, and
+ * setval never moves a sequence backwards, so a block another instance already allocated is
+ * never handed out again.
+ */
+@Component
+public class IdSequenceInitializer implements InitializingBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdSequenceInitializer.class);
+
+    private static final String ALIGNMENT_LOCK = "id-sequence-alignment";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final DataSource dataSource;
+
+    public IdSequenceInitializer(EntityManagerFactory entityManagerFactory, DataSource dataSource) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        if (!"PostgreSQL".equalsIgnoreCase(product)) {
+            return;
+        }
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource)).executeWithoutResult(status -> {
+            // Khoá tới hết transaction: instance khởi động cùng lúc chờ ở đây rồi thấy sequence đã được đẩy
+            jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(hashtext(?))", ALIGNMENT_LOCK);
+            entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel()
+                    .forEachEntityDescriptor(persister -> {
+                        if (persister.getGenerator() instanceof SequenceStyleGenerator generator
+                                && persister instanceof AbstractEntityPersister entityPersister) {
+                            align(jdbcTemplate,
+                                    generator.getDatabaseStructure().getPhysicalName().render(),
+                                    generator.getDatabaseStructure().getIncrementSize(),
+                                    entityPersister.getTableName(),
+                                    entityPersister.getIdentifierColumnNames()[0]);
+                        }
+                    });
+        });
+    }
+
+    private void align(JdbcTemplate jdbcTemplate, String sequence, int increment, String table, String idColumn) {
+        Long maxId = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(" + idColumn + "), 0) FROM " + table, Long.class);
+        Map<String, Object> state = jdbcTemplate.queryForMap("SELECT last_value, is_called FROM " + sequence);
+        long lastValue = ((Number) state.get("last_value")).longValue();
+        // Pooled optimizer cấp dải (value - increment, value]; dải kế tiếp phải bắt đầu sau MAX(id)
+        long required = maxId + increment;
+        if (lastValue < required) {
+            // GREATEST đọc last_value ngay trong câu setval: nextval của instance đang chạy không bị lùi lại
+            Long moved = jdbcTemplate.queryForObject(
+                    "SELECT setval(?, GREATEST(?, (SELECT last_value FROM " + sequence + ")))",
+                    Long.class, sequence, required);
+            logger.info("Moved sequence {} from {} to {} (max {}.{} = {})",
+                    sequence, lastValue, moved, table, idColumn, maxId);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package mss.project.topicapprovalservice.configs;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.task.DelegatingSecurityContextAsyncTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Bounded executor for fanning out remote (Feign) calls. Uses virtual threads with a
+ * concurrency limit on JDK 21+, a fixed platform pool otherwise. Tasks run with the
+ * caller's SecurityContext so FeignClientInterceptor can still forward the JWT.
+ */
+@Configuration
+public class RemoteFanOutConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteFanOutConfig.class);
+
+    @Bean(name = "remoteFanOutExecutor")
+    public AsyncTaskExecutor remoteFanOutExecutor(@Value("${remote.fan-out.max-concurrency:16}") int maxConcurrency,
+                                                  @Value("${remote.fan-out.queue-capacity:256}") int queueCapacity,
+                                                  @Value("${remote.fan-out.virtual-threads:true}") boolean virtualThreads) {
+        AsyncTaskExecutor delegate;
+        if (virtualThreads && Runtime.version().feature() >= 21) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("remote-fan-out-");
+            executor.setVirtualThreads(true);
+            // Vượt quá giới hạn thì thread gọi phải chờ, không tạo thêm request tới service khác
+            executor.setConcurrencyLimit(maxConcurrency);
+            delegate = executor;
+            logger.info("Remote fan-out uses virtual threads, max concurrency {}", maxConcurrency);
+        } else {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(maxConcurrency);
+            executor.setMaxPoolSize(maxConcurrency);
+            executor.setQueueCapacity(queueCapacity);
+            executor.setThreadNamePrefix("remote-fan-out-");
+            // Bean trả ra là wrapper nên pool không được shutdown khi tắt context
+            executor.setDaemon(true);
+            executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+            executor.initialize();
+            delegate = executor;
+            logger.info("Remote fan-out uses a platform thread pool of {}", maxConcurrency);
+        }
+        return new DelegatingSecurityContextAsyncTaskExecutor(delegate);
+    }
+}
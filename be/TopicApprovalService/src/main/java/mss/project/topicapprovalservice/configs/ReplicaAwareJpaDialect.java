@@ -0,0 +1,66 @@
+package mss.project.topicapprovalservice.configs;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+
+import java.sql.SQLException;
+
+/**
+ * Hibernate dialect for replica routing. With open-in-view the session (and the JDBC connection
+ * it holds) outlives each transaction, so a replica connection taken by a read-only transaction
+ * would otherwise be reused by later writes in the same request; it is released when the
+ * read-only transaction ends. Write transactions pin the rest of the request to the primary.
+ * <p>
+ * Read-only transactions may see a lagging replica, so they only read the second-level and
+ * query caches ({@link CacheMode#GET}): a stale row loaded from the replica must not be stored
+ * there and served as current for the rest of the TTL. Those caches are filled by read-write
+ * transactions, which always run on the primary.
+ */
+public class ReplicaAwareJpaDialect extends HibernateJpaDialect {
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws SQLException, TransactionException {
+        if (!definition.isReadOnly()) {
+            ReplicaRoutingDataSource.pinPrimaryToCurrentRequest();
+            return super.beginTransaction(entityManager, definition);
+        }
+        SessionImplementor session = getSession(entityManager);
+        Object delegate = super.beginTransaction(entityManager, definition);
+        CacheMode previousCacheMode = session.getCacheMode();
+        Object previousStoreMode = session.getProperties().getOrDefault(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE, CacheStoreMode.USE);
+        // Query dùng cache mode của session, còn find() tính lại từ property store mode mỗi lần gọi
+        session.setCacheMode(CacheMode.GET);
+        session.setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        return new ReadOnlyTransactionData(session, delegate, previousCacheMode, previousStoreMode);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (!(transactionData instanceof ReadOnlyTransactionData readOnly)) {
+            super.cleanupTransaction(transactionData);
+            return;
+        }
+        super.cleanupTransaction(readOnly.delegate());
+        if (readOnly.session().isOpen()) {
+            readOnly.session().setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE, readOnly.previousStoreMode());
+            readOnly.session().setCacheMode(readOnly.previousCacheMode());
+            JdbcCoordinator jdbcCoordinator = readOnly.session().getJdbcCoordinator();
+            if (jdbcCoordinator.getLogicalConnection().isPhysicallyConnected()) {
+                // Lần dùng tiếp theo của session lấy connection mới, đúng pool cho transaction đó
+                jdbcCoordinator.getLogicalConnection().manualDisconnect();
+            }
+        }
+    }
+
+    private record ReadOnlyTransactionData(SessionImplementor session, Object delegate,
+                                           CacheMode previousCacheMode, Object previousStoreMode) {
+    }
+}
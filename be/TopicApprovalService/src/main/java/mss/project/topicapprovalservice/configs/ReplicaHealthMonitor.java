@@ -0,0 +1,120 @@
+package mss.project.topicapprovalservice.configs;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically probes the read replica and decides whether read-only transactions may use it:
+ * the replica must answer the lag query and be no more than {@code datasource.replica.max-lag}
+ * behind the primary. Until the first successful probe, and after any failure, reads stay on
+ * the primary.
+ * <p>
+ * Probes run on the monitor's own thread, so a long scheduled job cannot delay them. A result
+ * older than {@value #STALE_AFTER_INTERVALS} check intervals is not trusted either.
+ */
+public class ReplicaHealthMonitor implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaHealthMonitor.class);
+
+    /**
+     * Replay delay in seconds; 0 when the target is not a standby, or when it is streaming and
+     * has replayed everything it received (an idle primary would otherwise look lagging). NULL
+     * when the standby has no streaming WAL receiver: replay then matches receive only because
+     * nothing new arrives. {@code status} is only visible to roles with pg_read_all_stats, so
+     * for other roles only a missing receiver is detected.
+     */
+    public static final String POSTGRES_LAG_QUERY = "SELECT CASE " +
+            "WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver " +
+            "WHERE status IS NULL OR status = 'streaming') THEN NULL " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private static final int STALE_AFTER_INTERVALS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String lagQuery;
+
+    private final Duration maxLag;
+
+    private final long staleAfterNanos;
+
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean usable;
+
+    private volatile long lastProbeNanos;
+
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaHealthMonitor(DataSource replica, String lagQuery, Duration maxLag, Duration probeTimeout,
+                                Duration checkInterval, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(replica);
+        this.jdbcTemplate.setQueryTimeout((int) Math.max(1, probeTimeout.toSeconds()));
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        this.staleAfterNanos = checkInterval.toNanos() * STALE_AFTER_INTERVALS;
+        Gauge.builder("datasource.replica.available", this, monitor -> monitor.isUsable() ? 1 : 0)
+                .description("1 when read-only transactions are routed to the replica")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Replication lag measured by the last successful probe")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::probe, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isUsable() {
+        return usable && System.nanoTime() - lastProbeNanos <= staleAfterNanos;
+    }
+
+    public void probe() {
+        try {
+            Number lag = jdbcTemplate.queryForObject(lagQuery, Number.class);
+            if (lag == null) {
+                markDown(new IllegalStateException("replica is not streaming from the primary"));
+                return;
+            }
+            lagSeconds = lag.doubleValue();
+            boolean withinLag = lagSeconds * 1000 <= maxLag.toMillis();
+            if (withinLag != usable) {
+                logger.info("Read replica {} (lag {}s, max {}s)", withinLag ? "in use" : "lagging, reads go to primary",
+                        lagSeconds, maxLag.toSeconds());
+            }
+            lastProbeNanos = System.nanoTime();
+            usable = withinLag;
+        } catch (RuntimeException e) {
+            markDown(e);
+        }
+    }
+
+    /**
+     * Stops routing to the replica until the next successful probe.
+     */
+    public void markDown(Exception cause) {
+        if (usable) {
+            logger.warn("Read replica unavailable, reads go to primary: {}", cause.getMessage());
+        }
+        usable = false;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
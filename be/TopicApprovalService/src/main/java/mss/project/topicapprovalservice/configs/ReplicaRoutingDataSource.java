@@ -0,0 +1,82 @@
+package mss.project.topicapprovalservice.configs;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Read-only side of the routing: hands out replica connections while the replica is healthy,
+ * otherwise (or when the replica refuses a connection) primary ones. Once a request has opened
+ * a write transaction it is pinned to the primary, so it reads its own writes.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final String PRIMARY_PINNED = ReplicaRoutingDataSource.class.getName() + ".PRIMARY_PINNED";
+
+    private final DataSource primary;
+
+    private final DataSource replica;
+
+    private final ReplicaHealthMonitor monitor;
+
+    private final Counter replicaReads;
+
+    private final Counter primaryReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaHealthMonitor monitor,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.monitor = monitor;
+        this.replicaReads = readCounter(meterRegistry, "replica");
+        this.primaryReads = readCounter(meterRegistry, "primary");
+    }
+
+    /**
+     * Marks the current web request as having written; no-op outside a request.
+     */
+    public static void pinPrimaryToCurrentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(PRIMARY_PINNED, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private static boolean isPrimaryPinned() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && attributes.getAttribute(PRIMARY_PINNED, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (monitor.isUsable() && !isPrimaryPinned()) {
+            try {
+                Connection connection = replica.getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                monitor.markDown(e);
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Credentials are configured per pool");
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.replica.reads")
+                .description("Read-only transactions by the pool that served them")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+}
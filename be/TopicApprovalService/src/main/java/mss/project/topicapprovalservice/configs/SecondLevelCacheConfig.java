@@ -0,0 +1,142 @@
+package mss.project.topicapprovalservice.configs;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level and query cache on JCache/Caffeine for read-mostly council data.
+ * Every region is created here with its own size and TTL, so no region is left unbounded.
+ * Hit/miss/put counts per region are published as hibernate.second.level.cache.* metrics.
+ */
+@Configuration
+@ConditionalOnProperty(value = "hibernate-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class SecondLevelCacheConfig {
+
+    public static final String COUNCILS = "councils";
+    public static final String COUNCIL_TOPICS = "councils.topics";
+    public static final String COUNCIL_MEMBERS = "councils.members";
+    public static final String COUNCIL_SEATS = "council-members";
+    public static final String REVIEW_COUNCILS = "progress-review-councils";
+    public static final String TOPICS = "topics";
+
+    private static final String QUERY_RESULTS = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${hibernate-cache.entity-ttl:1h}") Duration entityTtl,
+                                              @Value("${hibernate-cache.query-ttl:10m}") Duration queryTtl,
+                                              @Value("${hibernate-cache.maximum-size:10000}") long maximumSize) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // Manager riêng cho mỗi context: manager mặc định dùng chung cả JVM, context thứ hai sẽ trùng region
+        URI uri = URI.create("urn:hibernate-cache:" + UUID.randomUUID());
+        CacheManager cacheManager = provider.getCacheManager(uri, getClass().getClassLoader());
+        for (String region : new String[]{COUNCILS, COUNCIL_TOPICS, COUNCIL_MEMBERS, COUNCIL_SEATS, REVIEW_COUNCILS, TOPICS}) {
+            createRegion(cacheManager, region, entityTtl, maximumSize);
+        }
+        createRegion(cacheManager, QUERY_RESULTS, queryTtl, maximumSize);
+        // Timestamp của bảng quyết định query cache còn hợp lệ hay không: không được hết hạn hay bị evict
+        createRegion(cacheManager, UPDATE_TIMESTAMPS, null, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheProperties(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, new QueryCacheModeAwareRegionFactory());
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            // Topic/seat đổi council (phía owning) thì collection cache của Council (phía inverse) cũng bị xoá
+            properties.put(AvailableSettings.AUTO_EVICT_COLLECTION_CACHE, true);
+        };
+    }
+
+    /**
+     * Hibernate 6.6 still stores a query result on a cache miss when the session is in
+     * {@link org.hibernate.CacheMode#GET} (entity loads honour it), so a read-only session on a
+     * lagging replica would cache stale results. The query results region enforces it instead.
+     */
+    static class QueryCacheModeAwareRegionFactory extends JCacheRegionFactory {
+
+        @Override
+        protected StorageAccess createQueryResultsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+            StorageAccess delegate = super.createQueryResultsRegionStorageAccess(regionName, sessionFactory);
+            return new StorageAccess() {
+                @Override
+                public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+                    return delegate.getFromCache(key, session);
+                }
+
+                @Override
+                public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+                    if (session.getCacheMode().isPutEnabled()) {
+                        delegate.putIntoCache(key, value, session);
+                    }
+                }
+
+                @Override
+                public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+                    delegate.removeFromCache(key, session);
+                }
+
+                @Override
+                public void clearCache(SharedSessionContractImplementor session) {
+                    delegate.clearCache(session);
+                }
+
+                @Override
+                public boolean contains(Object key) {
+                    return delegate.contains(key);
+                }
+
+                @Override
+                public void evictData() {
+                    delegate.evictData();
+                }
+
+                @Override
+                public void evictData(Object key) {
+                    delegate.evictData(key);
+                }
+
+                @Override
+                public void release() {
+                    delegate.release();
+                }
+            };
+        }
+    }
+
+    private static void createRegion(CacheManager cacheManager, String region, Duration ttl, Long maximumSize) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStatisticsEnabled(true);
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(ttl.toMillis())));
+        }
+        if (maximumSize != null) {
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        }
+        cacheManager.createCache(region, configuration);
+    }
+}
@@ -2,15 +2,21 @@ package mss.project.topicapprovalservice.controllers;
 
 
 import mss.project.topicapprovalservice.dtos.requests.CouncilCreateRequest;
+import mss.project.topicapprovalservice.dtos.requests.CouncilPlanningRequest;
 import mss.project.topicapprovalservice.dtos.responses.ApiResponse;
+import mss.project.topicapprovalservice.dtos.responses.CouncilAssignmentResponse;
+import mss.project.topicapprovalservice.dtos.responses.CouncilPlanResponse;
 import mss.project.topicapprovalservice.dtos.responses.CouncilResponse;
 import mss.project.topicapprovalservice.dtos.responses.CouncilSummaryResponse;
+import mss.project.topicapprovalservice.dtos.responses.TopicFileUrlResponse;
 import mss.project.topicapprovalservice.exceptions.AppException;
 import mss.project.topicapprovalservice.exceptions.ErrorCode;
 import mss.project.topicapprovalservice.pojos.Council;
 import mss.project.topicapprovalservice.services.CouncilService;
 import mss.project.topicapprovalservice.services.ICouncilService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -27,15 +33,57 @@ public class CouncilController {
 
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping("/create")
-    public ApiResponse<List<CouncilResponse>> createCouncil(@RequestBody CouncilCreateRequest councilCreateRequest) {
-        List<CouncilResponse> saved = councilService.addCouncil(councilCreateRequest);
-        return ApiResponse.<List<CouncilResponse>>builder()
-                .code(201)
-                .message("Council created successfully")
-                .data(saved)
+    public ResponseEntity<ApiResponse<CouncilAssignmentResponse>> createCouncil(@RequestBody CouncilCreateRequest councilCreateRequest) {
+        CouncilAssignmentResponse saved = councilService.addCouncil(councilCreateRequest);
+        return assignmentResponse(saved, "Council created successfully");
+    }
+
+    /**
+     * Dry run: solves each variant without writing anything and returns the plans with metrics.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/plans")
+    public ApiResponse<List<CouncilPlanResponse>> simulateCouncils(@RequestBody CouncilPlanningRequest councilPlanningRequest) {
+        List<CouncilPlanResponse> plans = councilService.simulateCouncils(councilPlanningRequest);
+        return ApiResponse.<List<CouncilPlanResponse>>builder()
+                .code(200)
+                .message("Council plans simulated successfully")
+                .data(plans)
                 .build();
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/plans/{planId}/commit")
+    public ResponseEntity<ApiResponse<CouncilAssignmentResponse>> commitCouncilPlan(@PathVariable String planId) {
+        CouncilAssignmentResponse saved = councilService.commitCouncilPlan(planId);
+        return assignmentResponse(saved, "Council plan committed successfully");
+    }
+
+    /**
+     * 201 when every topic group got a council, 201 with a distinct message when some groups are
+     * listed in infeasibleGroups, and 422 (nothing was written) when no council could be staffed.
+     */
+    private ResponseEntity<ApiResponse<CouncilAssignmentResponse>> assignmentResponse(CouncilAssignmentResponse saved,
+                                                                                      String successMessage) {
+        if (saved.getCouncils().isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body(ApiResponse.<CouncilAssignmentResponse>builder()
+                            .code(HttpStatus.UNPROCESSABLE_ENTITY.value())
+                            .message("No council could be staffed for the given topics")
+                            .data(saved)
+                            .build());
+        }
+        String message = saved.getInfeasibleGroups().isEmpty()
+                ? successMessage
+                : "Councils created for some topic groups; see infeasibleGroups for the rest";
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.<CouncilAssignmentResponse>builder()
+                        .code(HttpStatus.CREATED.value())
+                        .message(message)
+                        .data(saved)
+                        .build());
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/all")
     public ApiResponse<List<CouncilResponse>> findAllCouncil() {
@@ -84,6 +132,18 @@ public class CouncilController {
                 .build();
     }
 
+    /**
+     * Presigned download URLs for every topic file in the council, in defense order.
+     */
+    @GetMapping("/{councilId}/file-urls")
+    public ApiResponse<List<TopicFileUrlResponse>> getCouncilFileUrls(@PathVariable Long councilId) {
+        return ApiResponse.<List<TopicFileUrlResponse>>builder()
+                .code(200)
+                .message("Fetched council file URLs successfully")
+                .data(councilService.getCouncilFileUrls(councilId))
+                .build();
+    }
+
     @PutMapping("/{councilId}/update-retake-date")
     public ApiResponse<CouncilResponse> updateRetakeDate(@PathVariable Long councilId) {
         councilService.updateRetakeDateForFailedTopic(councilId);
@@ -1,21 +1,35 @@
 package mss.project.topicapprovalservice.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import mss.project.topicapprovalservice.dtos.responses.ApiResponse;
+import mss.project.topicapprovalservice.dtos.responses.S3ObjectResponse;
 import mss.project.topicapprovalservice.services.S3Service;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/s3")
 @RequiredArgsConstructor
+@Slf4j
 public class S3Controller {
 
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final S3Service s3Service;
 
+    private final ObjectMapper objectMapper;
+
     /**
      * Upload file to S3
      */
@@ -99,6 +113,39 @@ public class S3Controller {
         }
     }
 
+    /**
+     * Stream the bucket listing as NDJSON (one object per line), walking all pages lazily.
+     * With a delimiter, common prefixes are emitted as {"key": "...", "prefix": true}.
+     */
+    @GetMapping(value = "/files/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamFiles(@RequestParam(required = false) String prefix,
+                                                             @RequestParam(required = false) String delimiter,
+                                                             @RequestParam(defaultValue = "1000") int pageSize,
+                                                             @RequestParam(defaultValue = "false") boolean metadata) {
+        StreamingResponseBody body = outputStream -> {
+            long count = 0;
+            try (Stream<S3ObjectResponse> objects = s3Service.streamObjects(prefix, delimiter, pageSize, metadata);
+                 SequenceWriter writer = objectMapper.writer()
+                         .withRootValueSeparator("\n")
+                         .writeValues(new BufferedOutputStream(outputStream))) {
+                Iterator<S3ObjectResponse> iterator = objects.iterator();
+                while (iterator.hasNext()) {
+                    writer.write(iterator.next());
+                    // Đẩy dữ liệu theo từng trang để client nhận dần, không đợi hết listing
+                    if (++count % Math.max(1, pageSize) == 0) {
+                        writer.flush();
+                    }
+                }
+            } catch (Exception e) {
+                // Header đã gửi đi nên chỉ có thể cắt stream; client thấy listing bị ngắt giữa chừng
+                log.error("Error streaming S3 listing after {} objects: {}", count, e.getMessage());
+                throw e;
+            }
+            log.info("Streamed {} S3 objects (prefix={}, delimiter={})", count, prefix, delimiter);
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
     /**
      * Check if file exists
      */
@@ -1,7 +1,9 @@
 package mss.project.topicapprovalservice.controllers;
 
 import lombok.RequiredArgsConstructor;
+import mss.project.topicapprovalservice.dtos.requests.TopicHistorySearchRequest;
 import mss.project.topicapprovalservice.dtos.responses.ApiResponse;
+import mss.project.topicapprovalservice.dtos.responses.CursorPageResponse;
 import mss.project.topicapprovalservice.dtos.responses.TopicHistoryDTOResponse;
 import mss.project.topicapprovalservice.services.TopicHistoryService;
 import org.springframework.http.ResponseEntity;
@@ -54,4 +56,15 @@ public class TopicHistoryController {
                 .data(history)
                 .build());
     }
-}
\ No newline at end of file
+
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse<CursorPageResponse<TopicHistoryDTOResponse>>> searchHistory(
+            @ModelAttribute TopicHistorySearchRequest request) {
+        CursorPageResponse<TopicHistoryDTOResponse> page = topicHistoryService.searchHistory(request);
+        return ResponseEntity.ok(ApiResponse.<CursorPageResponse<TopicHistoryDTOResponse>>builder()
+                .code(200)
+                .message("Lấy lịch sử thay đổi thành công")
+                .data(page)
+                .build());
+    }
+}
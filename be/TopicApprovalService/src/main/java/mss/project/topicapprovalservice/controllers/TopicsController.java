@@ -1,26 +1,43 @@
 package mss.project.topicapprovalservice.controllers;
 
 import mss.project.topicapprovalservice.dtos.responses.*;
+import mss.project.topicapprovalservice.dtos.requests.TopicSearchRequest;
 import mss.project.topicapprovalservice.dtos.requests.TopicsDTORequest;
+import mss.project.topicapprovalservice.enums.ExportFormat;
 import mss.project.topicapprovalservice.enums.TopicStatus;
+import mss.project.topicapprovalservice.exceptions.AppException;
+import mss.project.topicapprovalservice.exceptions.ErrorCode;
+import mss.project.topicapprovalservice.services.AuthorizationService;
+import mss.project.topicapprovalservice.services.TopicExportService;
 import mss.project.topicapprovalservice.services.TopicService;
 import mss.project.topicapprovalservice.services.TopicHistoryService;
 import mss.project.topicapprovalservice.services.AccountService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @Controller
 @RequestMapping("/api/topics")
 @RestController
 public class TopicsController {
 
+    private static final Logger logger = LoggerFactory.getLogger(TopicsController.class);
+
     @Autowired
     private TopicService topicsService;
     
@@ -30,6 +47,22 @@ public class TopicsController {
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private AuthorizationService authorizationService;
+
+    @Autowired
+    private TopicExportService topicExportService;
+
+    // Giữ các endpoint trả list không phân trang trong thời gian frontend chuyển sang /page
+    @Value("${topics.unpaged-lists.enabled:true}")
+    private boolean unpagedListsEnabled;
+
+    private void requireUnpagedListsEnabled() {
+        if (!unpagedListsEnabled) {
+            throw new AppException(ErrorCode.UNPAGED_LIST_DISABLED);
+        }
+    }
+
     @PostMapping("/create")
     public ApiResponse<TopicsDTOResponse> createTopic(
             @RequestBody TopicsDTORequest topicsDTO, 
@@ -158,6 +191,7 @@ public class TopicsController {
 
     @GetMapping("topic-count")
     public ApiResponse<List<TopicsWithCouncilIsNullResponse>>getTopicCount() {
+        requireUnpagedListsEnabled();
         List<TopicsWithCouncilIsNullResponse> topicsDTOResponses= topicsService.getTopicsByCouncilNotNull();
         if(topicsDTOResponses.isEmpty()) {
             ApiResponse<List<TopicsWithCouncilIsNullResponse>> apiResponse = new ApiResponse<>();
@@ -173,6 +207,90 @@ public class TopicsController {
         return apiResponse;
     }
 
+    @GetMapping("/topic-count/page")
+    public ApiResponse<CursorPageResponse<TopicsWithCouncilIsNullResponse>> getTopicCountPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPageResponse<TopicsWithCouncilIsNullResponse> page = topicsService.getTopicsByCouncilNotNull(cursor, size);
+        ApiResponse<CursorPageResponse<TopicsWithCouncilIsNullResponse>> apiResponse = new ApiResponse<>();
+        apiResponse.setCode(200);
+        apiResponse.setMessage("Topics without council retrieved successfully");
+        apiResponse.setData(page);
+        return apiResponse;
+    }
+
+    @GetMapping("/page")
+    public ApiResponse<CursorPageResponse<TopicsDTOResponse>> searchTopics(@ModelAttribute TopicSearchRequest request) {
+        CursorPageResponse<TopicsDTOResponse> page = topicsService.searchTopics(request);
+        ApiResponse<CursorPageResponse<TopicsDTOResponse>> apiResponse = new ApiResponse<>();
+        apiResponse.setCode(200);
+        apiResponse.setMessage("Topics retrieved successfully");
+        apiResponse.setData(page);
+        return apiResponse;
+    }
+
+    @GetMapping("/my-topics/page")
+    public ApiResponse<CursorPageResponse<TopicsDTOResponse>> getMyTopicsPage(
+            @ModelAttribute TopicSearchRequest request,
+            @AuthenticationPrincipal Jwt jwt) {
+        if (jwt == null || jwt.getSubject() == null) {
+            throw new AppException(ErrorCode.UNAUTHORIZED);
+        }
+        // createdBy luôn là người đăng nhập, bỏ qua giá trị client gửi lên
+        request.setCreatedBy(jwt.getSubject());
+        CursorPageResponse<TopicsDTOResponse> page = topicsService.searchTopics(request);
+        ApiResponse<CursorPageResponse<TopicsDTOResponse>> apiResponse = new ApiResponse<>();
+        apiResponse.setCode(200);
+        apiResponse.setMessage("My topics retrieved successfully");
+        apiResponse.setData(page);
+        return apiResponse;
+    }
+
+    /**
+     * Streams the topic register for department heads. Rows come in id order, so an interrupted
+     * download can be resumed with {@code fromId} = last received id + 1.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTopics(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) Long fromId,
+            @RequestParam(required = false) Long toId,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @AuthenticationPrincipal Jwt jwt) {
+        authorizationService.checkHeadOfDepartmentPermission(jwt != null ? jwt.getClaimAsString("email") : null);
+
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new AppException(ErrorCode.INVALID_EXPORT_FORMAT);
+        }
+
+        String fileName = exportFormat == ExportFormat.CSV ? "topics-export.csv" : "topics-export.ndjson";
+        MediaType contentType = exportFormat == ExportFormat.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.parseMediaType("application/x-ndjson");
+        if (gzip) {
+            fileName += ".gz";
+            contentType = MediaType.parseMediaType("application/gzip");
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, 8192);
+                topicExportService.export(exportFormat, fromId, toId, gzipStream);
+                gzipStream.finish();
+            } else {
+                topicExportService.export(exportFormat, fromId, toId, outputStream);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(contentType)
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public ApiResponse<TopicsDTOResponse> getTopicById(@PathVariable Long id) {
         TopicsDTOResponse topicsDTO = topicsService.getTopicbById(id);
@@ -194,6 +312,7 @@ public class TopicsController {
 
     @GetMapping("/all")
     public ApiResponse<List<TopicsDTOResponse>> getAllTopics() {
+        requireUnpagedListsEnabled();
         List<TopicsDTOResponse> topicsDTOResponses = topicsService.getAllTopics();
         ApiResponse<List<TopicsDTOResponse>> apiResponse = new ApiResponse<>();
         apiResponse.setCode(200);
@@ -206,6 +325,7 @@ public class TopicsController {
     public ApiResponse<List<TopicsDTOResponse>> getTopicsWithPagination(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
+        requireUnpagedListsEnabled();
         // For now, return all topics (pagination can be implemented later)
         List<TopicsDTOResponse> topicsDTOResponses = topicsService.getAllTopics();
         ApiResponse<List<TopicsDTOResponse>> apiResponse = new ApiResponse<>();
@@ -257,9 +377,31 @@ public class TopicsController {
                 .build();
     }
     
+    @GetMapping("/approved/page")
+    public ApiResponse<CursorPageResponse<GetAllApprovedTopicsResponse>> getApprovedTopicsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal Jwt jwt) {
+        Long accountID = null;
+        if (jwt != null) {
+            try {
+                accountID = Long.parseLong(jwt.getSubject());
+            } catch (NumberFormatException e) {
+                logger.warn("Failed to parse accountId from JWT subject: {}", jwt.getSubject());
+            }
+        }
+        CursorPageResponse<GetAllApprovedTopicsResponse> result = topicsService.getApprovedTopics(accountID, cursor, size);
+        return ApiResponse.<CursorPageResponse<GetAllApprovedTopicsResponse>>builder()
+                .code(HttpStatus.OK.value())
+                .message("Fetch approved topics page successfully")
+                .data(result)
+                .build();
+    }
+
     @GetMapping("/by-status")
     public ApiResponse<List<TopicsDTOResponse>> getTopicsByStatus(
             @RequestParam String status) {
+        requireUnpagedListsEnabled();
         try {
             TopicStatus topicStatus = TopicStatus.valueOf(status.toUpperCase());
             List<TopicsDTOResponse> topics = topicsService.getTopicsByStatus(topicStatus);
@@ -280,6 +422,7 @@ public class TopicsController {
     @GetMapping("/my-topics")
     public ApiResponse<List<TopicsDTOResponse>> getMyTopics(
             @AuthenticationPrincipal Jwt jwt) {
+        requireUnpagedListsEnabled();
         
         // Lấy ID người dùng đăng nhập từ JWT
         Long creatorId = null;
@@ -377,6 +520,23 @@ public class TopicsController {
         return apiResponse;
     }
 
+    @GetMapping("/pending-for-approval/page")
+    public ApiResponse<CursorPageResponse<TopicWithApprovalStatusResponse>> getPendingTopicsForApprovalPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        String userEmail = jwt.getClaimAsString("email");
+        CursorPageResponse<TopicWithApprovalStatusResponse> page =
+                topicsService.getPendingTopicsForApproval(userEmail, cursor, size);
+
+        ApiResponse<CursorPageResponse<TopicWithApprovalStatusResponse>> apiResponse = new ApiResponse<>();
+        apiResponse.setCode(200);
+        apiResponse.setMessage("Pending topics for approval retrieved successfully");
+        apiResponse.setData(page);
+        return apiResponse;
+    }
+
     @GetMapping("/my-approved")
     public ApiResponse<List<TopicWithApprovalStatusResponse>> getApprovedTopicsByUser(
             @AuthenticationPrincipal Jwt jwt) {
@@ -393,6 +553,7 @@ public class TopicsController {
 
     @GetMapping("/fully-approved")
     public ApiResponse<List<TopicWithApprovalStatusResponse>> getFullyApprovedTopics() {
+        requireUnpagedListsEnabled();
         List<TopicWithApprovalStatusResponse> topics = topicsService.getFullyApprovedTopics();
         
         ApiResponse<List<TopicWithApprovalStatusResponse>> apiResponse = new ApiResponse<>();
@@ -402,6 +563,18 @@ public class TopicsController {
         return apiResponse;
     }
 
+    @GetMapping("/fully-approved/page")
+    public ApiResponse<CursorPageResponse<TopicWithApprovalStatusResponse>> getFullyApprovedTopicsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPageResponse<TopicWithApprovalStatusResponse> page = topicsService.getFullyApprovedTopics(cursor, size);
+        ApiResponse<CursorPageResponse<TopicWithApprovalStatusResponse>> apiResponse = new ApiResponse<>();
+        apiResponse.setCode(200);
+        apiResponse.setMessage("Fully approved topics retrieved successfully");
+        apiResponse.setData(page);
+        return apiResponse;
+    }
+
     @GetMapping("/{topicId}/can-edit")
     public ApiResponse<Map<String, Boolean>> canUserEditTopic(
             @PathVariable Long topicId,
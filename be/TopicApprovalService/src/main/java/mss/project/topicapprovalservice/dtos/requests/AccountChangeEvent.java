@@ -0,0 +1,17 @@
+package mss.project.topicapprovalservice.dtos.requests;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+/**
+ * Change notification published by AccountService on the account events channel.
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AccountChangeEvent {
+    public static final String ROLE_CHANGED = "ROLE_CHANGED";
+
+    private String type; // ROLE_CHANGED, PROFILE_UPDATED, ...
+    private Long accountId;
+    private String email;
+}
@@ -0,0 +1,25 @@
+package mss.project.topicapprovalservice.dtos.requests;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class CouncilPlanningRequest {
+    @NotBlank(message = "Semester name is required")
+    private String semester;
+    private List<Long> topicId;
+    // Mỗi variant là một phương án thử; để trống thì dùng cấu hình mặc định
+    private List<Variant> variants = new ArrayList<>();
+
+    @Data
+    public static class Variant {
+        private LocalDate startDate; // mặc định: ngày review tuần 12 sớm nhất + 3 tuần
+        private Integer groupSize; // số đề tài mỗi hội đồng, mặc định 6
+        private Integer maxDays;
+        private Integer maxCouncilsPerLecturerPerDay;
+    }
+}
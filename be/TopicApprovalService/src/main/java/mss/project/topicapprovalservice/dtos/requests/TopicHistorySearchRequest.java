@@ -0,0 +1,25 @@
+package mss.project.topicapprovalservice.dtos.requests;
+
+import lombok.Data;
+import mss.project.topicapprovalservice.enums.TopicField;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Query parameters of the keyset-paginated audit log (GET /api/topic-history/page),
+ * newest first. {@code from} is inclusive, {@code to} exclusive.
+ */
+@Data
+public class TopicHistorySearchRequest {
+    private Long topicId;
+    private String updatedBy;
+    private String actionType; // CREATE, UPDATE, DELETE
+    private TopicField field; // chỉ lấy các lần thay đổi có đổi field này, vd. STATUS
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+    private String cursor; // "<updatedAt>_<id>" của dòng cuối trang trước
+    private int size = 20;
+}
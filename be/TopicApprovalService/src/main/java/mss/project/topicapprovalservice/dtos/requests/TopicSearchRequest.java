@@ -0,0 +1,18 @@
+package mss.project.topicapprovalservice.dtos.requests;
+
+import lombok.Data;
+import mss.project.topicapprovalservice.enums.TopicStatus;
+
+/**
+ * Query parameters of the keyset-paginated topic listing (GET /api/topics).
+ */
+@Data
+public class TopicSearchRequest {
+    private TopicStatus status;
+    private String createdBy;
+    private String semester; // lọc theo học kỳ của hội đồng được gán
+    private String sortBy = "id"; // "id" (tăng dần) hoặc "createdAt" (mới nhất trước)
+    private String cursor;
+    private int size = 20;
+    private boolean includeTotal;
+}
@@ -0,0 +1,15 @@
+package mss.project.topicapprovalservice.dtos.responses;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class CouncilAssignmentResponse {
+
+    private List<CouncilResponse> councils;
+    // Các nhóm đề tài không xếp được hội đồng (không đủ giảng viên hợp lệ)
+    private List<UnassignedTopicGroupResponse> infeasibleGroups;
+}
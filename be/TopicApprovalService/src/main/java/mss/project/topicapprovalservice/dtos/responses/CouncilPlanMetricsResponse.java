@@ -0,0 +1,20 @@
+package mss.project.topicapprovalservice.dtos.responses;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CouncilPlanMetricsResponse {
+
+    private int councilCount;
+    private int assignedTopicCount;
+    private int unassignedTopicCount;
+    private int daysUsed;
+    private String firstDefenseDate;
+    private String lastDefenseDate;
+    private int minWorkload;
+    private int maxWorkload;
+    private double workloadStdDev;
+    private long solveMillis;
+}
@@ -0,0 +1,22 @@
+package mss.project.topicapprovalservice.dtos.responses;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class CouncilPlanResponse {
+
+    // Dùng để lưu phương án qua POST /api/councils/plans/{planId}/commit
+    private String planId;
+    private String expiresAt;
+    private String startDate;
+    private int groupSize;
+    private int maxDays;
+    private int maxCouncilsPerLecturerPerDay;
+    private CouncilPlanMetricsResponse metrics;
+    private List<CouncilResponse> councils;
+    private List<UnassignedTopicGroupResponse> infeasibleGroups;
+}
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import mss.project.topicapprovalservice.enums.TopicStatus;
 
 @Data
 @AllArgsConstructor
@@ -16,4 +17,9 @@ public class GetAllApprovedTopicsResponse {
     private String topicTitle;
     private String description;
     private String topicStatus;
+
+    // Dùng cho JPQL constructor expression (TopicsRepository.findApprovedFirstByApprover)
+    public GetAllApprovedTopicsResponse(Long topicID, String topicTitle, String description, TopicStatus status) {
+        this(topicID, topicTitle, description, status != null ? status.getDisplayName() : null);
+    }
 }
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import mss.project.topicapprovalservice.enums.Milestone;
 import mss.project.topicapprovalservice.enums.ReviewFormat;
+import mss.project.topicapprovalservice.enums.Status;
 
 import java.time.LocalDateTime;
 
@@ -26,4 +27,14 @@ public class GetReviewCouncilResponse {
     private ReviewFormat reviewFormat;
     private String meetingLink;
     private String roomNumber;
+
+    // Dùng cho JPQL constructor expression; status/result lấy giá trị hiển thị như builder ở service
+    public GetReviewCouncilResponse(Long councilID, String councilName, Long topicID, String topicTitle,
+                                    Milestone milestone, LocalDateTime reviewDate, Status status, Status result,
+                                    LocalDateTime createdAt, ReviewFormat reviewFormat, String meetingLink,
+                                    String roomNumber) {
+        this(councilID, councilName, topicID, topicTitle, milestone, reviewDate,
+                status != null ? status.getValue() : null, result != null ? result.getValue() : null,
+                createdAt, reviewFormat, meetingLink, roomNumber);
+    }
 }
@@ -0,0 +1,26 @@
+package mss.project.topicapprovalservice.dtos.responses;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One line of the NDJSON object listing. Common prefixes (when a delimiter is given) are
+ * emitted with {@code prefix = true} and no metadata; size and lastModified are only
+ * filled when metadata was requested.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class S3ObjectResponse {
+    private String key;
+    private Boolean prefix;
+    private Long size;
+    private Instant lastModified;
+}
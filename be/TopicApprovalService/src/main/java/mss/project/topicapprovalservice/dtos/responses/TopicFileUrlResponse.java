@@ -0,0 +1,17 @@
+package mss.project.topicapprovalservice.dtos.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopicFileUrlResponse {
+    private Long topicId;
+    private String title;
+    private String fileName;
+    private String fileUrl;
+}
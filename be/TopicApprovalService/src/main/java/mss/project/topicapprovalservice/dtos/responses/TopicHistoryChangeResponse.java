@@ -0,0 +1,16 @@
+package mss.project.topicapprovalservice.dtos.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import mss.project.topicapprovalservice.enums.TopicField;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopicHistoryChangeResponse {
+    private TopicField field;
+    private String oldValue;
+    private String newValue;
+    private boolean automatic;
+}
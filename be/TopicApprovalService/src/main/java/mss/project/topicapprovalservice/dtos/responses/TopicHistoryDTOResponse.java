@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -17,4 +18,11 @@ public class TopicHistoryDTOResponse {
     private String updatedBy;
     private LocalDateTime updatedAt;
     private String actionType;
+    private List<TopicHistoryChangeResponse> changes; // null với lịch sử cũ chỉ có changedContent
+
+    // Dùng cho JPQL constructor expression; changes được gắn sau
+    public TopicHistoryDTOResponse(Long id, Long topicId, String topicName, String changedContent,
+                                   String updatedBy, LocalDateTime updatedAt, String actionType) {
+        this(id, topicId, topicName, changedContent, updatedBy, updatedAt, actionType, null);
+    }
 }
\ No newline at end of file
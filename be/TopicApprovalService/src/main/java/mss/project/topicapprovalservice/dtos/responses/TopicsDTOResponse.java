@@ -5,7 +5,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import mss.project.topicapprovalservice.enums.TopicStatus;
 
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 
@@ -26,4 +28,18 @@ public class TopicsDTOResponse {
     private String createdAt;
     private String updatedAt;
     List<NoteResponse> notes;
+
+    // Dùng cho JPQL constructor expression, cùng định dạng với TopicsServiceImpl.convertToDTO
+    public TopicsDTOResponse(Long id, String title, String description, LocalDateTime submitedAt, TopicStatus status,
+                             String filePathUrl, String createdBy, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.submitedAt = submitedAt != null ? submitedAt.toString() : null;
+        this.status = status != null ? status.name() : null;
+        this.filePathUrl = filePathUrl;
+        this.createdBy = createdBy;
+        this.createdAt = createdAt != null ? createdAt.toString() : null;
+        this.updatedAt = updatedAt != null ? updatedAt.toString() : null;
+    }
 }
@@ -0,0 +1,14 @@
+package mss.project.topicapprovalservice.dtos.responses;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class UnassignedTopicGroupResponse {
+
+    private List<Long> topicIds;
+    private String reason;
+}
@@ -0,0 +1,9 @@
+package mss.project.topicapprovalservice.enums;
+
+public enum CleanupStatus {
+    PENDING,
+    DONE,
+    DEAD,
+    // Huỷ vì key được upload lại (key theo hash nội dung nên file lại đang được dùng)
+    CANCELLED
+}
@@ -0,0 +1,6 @@
+package mss.project.topicapprovalservice.enums;
+
+public enum CleanupTarget {
+    S3_OBJECT,     // resourceKey = S3 object key
+    QDRANT_TOPIC   // resourceKey = topic id
+}
@@ -0,0 +1,6 @@
+package mss.project.topicapprovalservice.enums;
+
+public enum ExportFormat {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,7 @@
+package mss.project.topicapprovalservice.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    DEAD
+}
@@ -0,0 +1,12 @@
+package mss.project.topicapprovalservice.enums;
+
+/**
+ * Topic fields tracked in the structured change log (topic_history_changes.field).
+ */
+public enum TopicField {
+    TITLE,
+    DESCRIPTION,
+    FILE_PATH_URL,
+    STATUS,
+    SUBMITTED_AT
+}
@@ -41,15 +41,24 @@ public enum ErrorCode {
     NOT_ENOUGH_LECTURERS(400, "Not enough lecturers to approve the topic"),
     USER_ALREADY_JOINED_TOPIC(4001, "User has already joined this topic"),
     ACCOUNT_SERVICE_ERROR(500, "Account service error"),
+    REMOTE_CALL_TIMEOUT(504, "Remote service did not respond in time"),
+    INVALID_CURSOR(400, "Invalid pagination cursor"),
+    INVALID_EXPORT_FORMAT(400, "Invalid export format, use NDJSON or CSV"),
+    UNPAGED_LIST_DISABLED(410, "Unpaged listing is disabled, use the /page endpoint"),
 
     // New error codes for review council
     TOPIC_NOT_FOUND(404, "Topic not found"),
     COUNCIL_NOT_FOUND(404, "Council not found"),
+    COUNCIL_PLAN_NOT_FOUND(404, "Council plan not found or expired"),
+    TOO_MANY_PLAN_VARIANTS(400, "Too many plan variants, at most 10 per request"),
+    NO_TOPICS_TO_PLAN(400, "Select at least one topic to plan councils for"),
+    COUNCIL_PLAN_CONFLICT(409, "Lecturers in this plan were booked by another council meanwhile, simulate again"),
     CREATOR_CANNOT_JOIN_COUNCIL(403, "Người tạo đề tài không thể tham gia hội đồng duyệt"),
     COUNCIL_FULL(400, "Hội đồng đã đủ 2 thành viên"),
     ALREADY_JOINED_COUNCIL(400, "Bạn đã tham gia hội đồng này rồi"),
     NOT_COUNCIL_MEMBER(400, "Bạn không phải thành viên của hội đồng này"),
     TOPIC_ALREADY_APPROVED(400, "You have already approved this topic"),
+    TOPIC_CONCURRENTLY_MODIFIED(409, "Đề tài vừa được người khác cập nhật, vui lòng thử lại"),
     CANNOT_APPROVE_OWN_TOPIC(403, "Người tạo và người tham gia đề tài không được duyệt đề tài của mình"),
     CANNOT_EDIT_TOPIC(403, "Bạn không có quyền chỉnh sửa đề tài này. Chỉ người tạo và người tham gia mới được chỉnh sửa"),
     USER_NOT_FOUND_IN_TOPIC(404, "Người dùng không phải là thành viên của đề tài này"),
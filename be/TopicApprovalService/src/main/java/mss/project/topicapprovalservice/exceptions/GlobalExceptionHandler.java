@@ -3,6 +3,7 @@ package mss.project.topicapprovalservice.exceptions;
 
 
 import mss.project.topicapprovalservice.dtos.responses.ApiResponse;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -48,6 +49,12 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(httpStatus).body(response);
     }
 
+    // Entity có @Version bị transaction khác cập nhật trước: báo 409 để client tải lại và thử lại
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<?>> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return handleAppException(new AppException(ErrorCode.TOPIC_CONCURRENTLY_MODIFIED));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<?>> handleGeneralException(Exception ex) {
         ApiResponse<?> response = ApiResponse.builder()
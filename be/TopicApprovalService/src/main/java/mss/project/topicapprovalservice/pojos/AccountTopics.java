@@ -12,11 +12,14 @@ import mss.project.topicapprovalservice.enums.TopicRole;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "account_topics")
+@Table(name = "account_topics", indexes = {
+        @Index(name = "idx_account_topics_topic_account", columnList = "topic_id, account_id")
+})
 public class AccountTopics {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_topics_seq")
+    @SequenceGenerator(name = "account_topics_seq", sequenceName = "account_topics_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -3,6 +3,9 @@ package mss.project.topicapprovalservice.pojos;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
+import mss.project.topicapprovalservice.configs.SecondLevelCacheConfig;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -18,11 +21,16 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "councils")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.COUNCILS)
+@Table(name = "councils", indexes = {
+        @Index(name = "idx_councils_semester", columnList = "semester")
+})
 public class Council {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "councils_seq")
+    @SequenceGenerator(name = "councils_seq", sequenceName = "councils_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -43,9 +51,11 @@ public class Council {
 
     @OneToMany(mappedBy = "council", cascade = CascadeType.ALL)
     @JsonManagedReference
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.COUNCIL_MEMBERS)
     private List<CouncilMember> councilMembers= new ArrayList<>();;
 
     @OneToMany(mappedBy = "council", cascade = CascadeType.ALL)
     @JsonManagedReference
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.COUNCIL_TOPICS)
     private List<Topics> topics = new ArrayList<>();
 }
@@ -3,6 +3,9 @@ package mss.project.topicapprovalservice.pojos;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
+import mss.project.topicapprovalservice.configs.SecondLevelCacheConfig;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,12 +15,18 @@ import mss.project.topicapprovalservice.enums.Role;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "council_members")
+// Ghế hội đồng gần như chỉ ghi một lần khi tạo hội đồng (note hiếm khi sửa)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = SecondLevelCacheConfig.COUNCIL_SEATS)
+@Table(name = "council_members", indexes = {
+        @Index(name = "idx_council_members_account_id", columnList = "account_id")
+})
 public class CouncilMember {
 
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "council_members_seq")
+    @SequenceGenerator(name = "council_members_seq", sequenceName = "council_members_seq", allocationSize = 50)
     private Long id;
 
 
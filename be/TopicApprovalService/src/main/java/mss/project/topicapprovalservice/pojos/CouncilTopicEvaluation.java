@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class CouncilTopicEvaluation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "council_topic_evaluations_seq")
+    @SequenceGenerator(name = "council_topic_evaluations_seq", sequenceName = "council_topic_evaluations_seq", allocationSize = 50)
     private Long id;
 
     // Đề tài được đánh giá (belongs-to 1 Council qua topic.council)
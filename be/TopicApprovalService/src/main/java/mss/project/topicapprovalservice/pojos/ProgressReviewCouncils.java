@@ -1,6 +1,9 @@
 package mss.project.topicapprovalservice.pojos;
 
 import jakarta.persistence.*;
+import mss.project.topicapprovalservice.configs.SecondLevelCacheConfig;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 import mss.project.topicapprovalservice.enums.Milestone;
 import mss.project.topicapprovalservice.enums.ReviewFormat;
@@ -9,13 +12,16 @@ import mss.project.topicapprovalservice.enums.Status;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.REVIEW_COUNCILS)
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class ProgressReviewCouncils {
 
     @Id
-    @GeneratedValue(strategy= GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "progress_review_councils_seq")
+    @SequenceGenerator(name = "progress_review_councils_seq", sequenceName = "progress_review_councils_seq", allocationSize = 50)
     private Long councilID;
 
     @Column(unique=true, nullable=false)
@@ -0,0 +1,56 @@
+package mss.project.topicapprovalservice.pojos;
+
+import jakarta.persistence.*;
+import lombok.*;
+import mss.project.topicapprovalservice.enums.CleanupStatus;
+import mss.project.topicapprovalservice.enums.CleanupTarget;
+
+import java.time.LocalDateTime;
+
+/**
+ * An external resource (S3 object, Qdrant vectors of a topic) to delete once the transaction
+ * that stopped referencing it has committed. Processed by ResourceCleanupWorker.
+ */
+@Entity
+@Table(name = "resource_cleanup_jobs", indexes = {
+        @Index(name = "idx_resource_cleanup_status_next_attempt", columnList = "status, next_attempt_at, id"),
+        @Index(name = "idx_resource_cleanup_target_key", columnList = "target, resource_key")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResourceCleanupJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "resource_cleanup_jobs_seq")
+    @SequenceGenerator(name = "resource_cleanup_jobs_seq", sequenceName = "resource_cleanup_jobs_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target", nullable = false, length = 32)
+    private CleanupTarget target;
+
+    @Column(name = "resource_key", nullable = false, length = 1024)
+    private String resourceKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private CleanupStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -13,7 +13,8 @@ import mss.project.topicapprovalservice.enums.Status;
 public class ReviewCouncilMembers {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "review_council_members_seq")
+    @SequenceGenerator(name = "review_council_members_seq", sequenceName = "review_council_members_seq", allocationSize = 50)
     private Long ID;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -7,16 +7,24 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "topic_approvals")
+// Mỗi người chỉ duyệt một đề tài một lần, kể cả khi hai request trùng nhau chạy song song
+@Table(name = "topic_approvals", uniqueConstraints = {
+        @UniqueConstraint(name = TopicApproval.UNIQUE_TOPIC_APPROVER, columnNames = {"topic_id", "approver_email"})
+}, indexes = {
+        @Index(name = "idx_topic_approvals_approver_first", columnList = "approver_email, approved_first, topic_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class TopicApproval {
+
+    public static final String UNIQUE_TOPIC_APPROVER = "uk_topic_approvals_topic_approver";
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "topic_approvals_seq")
+    @SequenceGenerator(name = "topic_approvals_seq", sequenceName = "topic_approvals_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
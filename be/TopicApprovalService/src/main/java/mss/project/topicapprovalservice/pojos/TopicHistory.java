@@ -8,7 +8,12 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "topic_history")
+@Table(name = "topic_history", indexes = {
+        @Index(name = "idx_topic_history_updated_at_id", columnList = "updated_at, id"),
+        @Index(name = "idx_topic_history_topic_updated_at", columnList = "topic_id, updated_at, id"),
+        @Index(name = "idx_topic_history_user_updated_at", columnList = "updated_by, updated_at, id"),
+        @Index(name = "idx_topic_history_action_updated_at", columnList = "action_type, updated_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,46 @@
+package mss.project.topicapprovalservice.pojos;
+
+import jakarta.persistence.*;
+import lombok.*;
+import mss.project.topicapprovalservice.enums.TopicField;
+
+/**
+ * One field-level change of a {@link TopicHistory} entry. Large values are stored gzip-compressed
+ * (Base64) with {@code compressed = true}; see TopicHistoryValueCodec.
+ */
+@Entity
+@Table(name = "topic_history_changes", indexes = {
+        @Index(name = "idx_topic_history_changes_history", columnList = "history_id"),
+        @Index(name = "idx_topic_history_changes_field_history", columnList = "field, history_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopicHistoryChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "history_id", nullable = false)
+    private TopicHistory history;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "field", nullable = false, length = 32)
+    private TopicField field;
+
+    @Column(name = "old_value", columnDefinition = "TEXT")
+    private String oldValue;
+
+    @Column(name = "new_value", columnDefinition = "TEXT")
+    private String newValue;
+
+    @Column(name = "compressed", nullable = false)
+    private boolean compressed;
+
+    // Thay đổi do hệ thống tự thực hiện (reset REJECTED -> PENDING), không phải giá trị người dùng gửi
+    @Column(name = "automatic", columnDefinition = "boolean default false not null")
+    private boolean automatic;
+}
@@ -2,6 +2,9 @@ package mss.project.topicapprovalservice.pojos;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
+import mss.project.topicapprovalservice.configs.SecondLevelCacheConfig;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 import mss.project.topicapprovalservice.enums.TopicStatus;
 import java.time.LocalDateTime;
@@ -12,13 +15,22 @@ import java.time.LocalTime;
 
 
 @Entity
-@Table(name = "topics")
+// Topic của học kỳ đã chốt không đổi nữa; topic đang duyệt vẫn đúng nhờ READ_WRITE (soft lock khi ghi)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.TOPICS)
+@Table(name = "topics", indexes = {
+        @Index(name = "idx_topics_status_id", columnList = "status, id"),
+        @Index(name = "idx_topics_created_by_id", columnList = "created_by, id"),
+        @Index(name = "idx_topics_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_topics_council_id", columnList = "council_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Topics {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "topics_seq")
+    @SequenceGenerator(name = "topics_seq", sequenceName = "topics_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "title")
@@ -55,6 +67,11 @@ public class Topics {
     @Column(name = "required_approvals")
     private Integer requiredApprovals = 2;
 
+    // Optimistic lock: hai người duyệt cùng lúc thì người commit sau retry thay vì ghi đè approvalCount
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0 not null")
+    private long version;
+
     @OneToMany(mappedBy = "topic", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<TopicApproval> approvals = new ArrayList<>();
 
@@ -7,6 +7,7 @@ import mss.project.topicapprovalservice.enums.TopicRole;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +19,7 @@ public interface AccountTopicsRepository extends JpaRepository<AccountTopics, Lo
 //    Long findAccountIdByTopics(Topics topic);
     AccountTopics findByTopics(Topics topic);
     List<AccountTopics> findByTopicsId(Long topicId);
+    List<AccountTopics> findByTopicsIdIn(Collection<Long> topicIds);
     Optional<AccountTopics> findByTopicsIdAndAccountId(Long topicId, Long accountId);
     boolean existsByTopicsIdAndAccountId(Long topicsId, Long accountId);
     void deleteByTopicsId(Long topicId);
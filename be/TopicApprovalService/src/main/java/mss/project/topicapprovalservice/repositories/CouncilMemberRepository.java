@@ -1,13 +1,17 @@
 package mss.project.topicapprovalservice.repositories;
 
 
+import jakarta.persistence.QueryHint;
 import mss.project.topicapprovalservice.pojos.CouncilMember;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -19,4 +23,28 @@ public interface CouncilMemberRepository extends JpaRepository<CouncilMember, Lo
     List<CouncilMember> findByCouncil_Id(long id);
 
     List<CouncilMember> findByAccountId(long accountId);
+
+    /**
+     * Seats of a lecturer with council and council topics fetched in the same statement
+     * (used by "my councils", which touches all three).
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT DISTINCT m FROM CouncilMember m JOIN FETCH m.council c LEFT JOIN FETCH c.topics " +
+            "WHERE m.accountId = :accountId")
+    List<CouncilMember> findWithCouncilAndTopicsByAccountId(@Param("accountId") Long accountId);
+
+    /**
+     * Seats in councils of the given semester or with a defense date in [from, to], council fetched.
+     */
+    @Query("SELECT m FROM CouncilMember m JOIN FETCH m.council c " +
+            "WHERE c.semester = :semester OR c.defenseDate BETWEEN :from AND :to")
+    List<CouncilMember> findBookedForSemesterOrBetween(@Param("semester") String semester,
+                                                       @Param("from") LocalDate from,
+                                                       @Param("to") LocalDate to);
+
+    /**
+     * Seats in councils held on any of the given days, council fetched.
+     */
+    @Query("SELECT m FROM CouncilMember m JOIN FETCH m.council c WHERE c.defenseDate IN :dates")
+    List<CouncilMember> findBookedOn(@Param("dates") Collection<LocalDate> dates);
 }
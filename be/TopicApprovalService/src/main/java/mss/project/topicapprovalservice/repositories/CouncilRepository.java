@@ -1,9 +1,19 @@
 package mss.project.topicapprovalservice.repositories;
 
+import jakarta.persistence.QueryHint;
 import mss.project.topicapprovalservice.pojos.Council;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface CouncilRepository extends JpaRepository<Council, Long> {
+
+    // Danh sách hội đồng đọc rất nhiều, hầu như không đổi sau khi chốt học kỳ
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Council> findAll();
 }
@@ -4,8 +4,11 @@ import mss.project.topicapprovalservice.pojos.CouncilMember;
 import mss.project.topicapprovalservice.pojos.CouncilTopicEvaluation;
 import mss.project.topicapprovalservice.pojos.Topics;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +17,7 @@ public interface CouncilTopicEvaluationRepository extends JpaRepository<CouncilT
     Optional<CouncilTopicEvaluation> findByTopicIdAndCouncilMemberId(Long topicId,Long councilMemberId);
     List<CouncilTopicEvaluation> findAllByTopic(Topics topic);
     List<CouncilTopicEvaluation> findAllByCouncilMember(CouncilMember member);
+
+    @Query("SELECT e FROM CouncilTopicEvaluation e JOIN FETCH e.councilMember WHERE e.topic.id IN :topicIds")
+    List<CouncilTopicEvaluation> findAllWithMemberByTopicIdIn(@Param("topicIds") Collection<Long> topicIds);
 }
@@ -0,0 +1,34 @@
+package mss.project.topicapprovalservice.repositories;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import mss.project.topicapprovalservice.enums.OutboxStatus;
+import mss.project.topicapprovalservice.pojos.EmailOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    /**
+     * Locks the oldest due entries, skipping rows another dispatcher already holds
+     * (FOR UPDATE SKIP LOCKED), so several instances can drain the outbox side by side.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM EmailOutbox e WHERE e.status = :status AND e.nextAttemptAt <= :now " +
+            "ORDER BY e.nextAttemptAt ASC, e.id ASC")
+    List<EmailOutbox> findDueForUpdate(@Param("status") OutboxStatus status,
+                                       @Param("now") LocalDateTime now,
+                                       Pageable pageable);
+
+    long countByStatus(OutboxStatus status);
+}
@@ -1,9 +1,15 @@
 package mss.project.topicapprovalservice.repositories;
 
+import jakarta.persistence.QueryHint;
+import mss.project.topicapprovalservice.dtos.responses.GetReviewCouncilResponse;
 import mss.project.topicapprovalservice.enums.Milestone;
 import mss.project.topicapprovalservice.pojos.ProgressReviewCouncils;
 import mss.project.topicapprovalservice.pojos.Topics;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,5 +23,25 @@ public interface ProgressReviewCouncilRepository extends JpaRepository<ProgressR
     ProgressReviewCouncils findByCouncilName(String councilName);
     List<ProgressReviewCouncils> findAllByTopic_IdInAndMilestone(List<Long> topicIds, Milestone milestone);
 
+    /**
+     * Only the columns GetReviewCouncilResponse needs, topic title joined in the same statement.
+     * Results go to the query cache and are dropped whenever one of the joined tables changes.
+     */
+    String DTO_SELECT = "SELECT new mss.project.topicapprovalservice.dtos.responses.GetReviewCouncilResponse(" +
+            "c.councilID, c.councilName, t.id, t.title, c.milestone, c.reviewDate, c.status, c.result, " +
+            "c.createdAt, c.reviewFormat, c.meetingLink, c.roomNumber) ";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(DTO_SELECT + "FROM ProgressReviewCouncils c JOIN c.topic t WHERE t.id = :topicId ORDER BY c.councilID")
+    List<GetReviewCouncilResponse> findDtosByTopicId(@Param("topicId") Long topicId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(DTO_SELECT + "FROM ProgressReviewCouncils c JOIN c.topic t ORDER BY c.councilID")
+    List<GetReviewCouncilResponse> findAllDtos();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(DTO_SELECT + "FROM ReviewCouncilMembers m JOIN m.progressReviewCouncil c JOIN c.topic t " +
+            "WHERE m.accountID = :accountId ORDER BY c.councilID")
+    List<GetReviewCouncilResponse> findDtosByMemberAccountId(@Param("accountId") Long accountId);
 
 }
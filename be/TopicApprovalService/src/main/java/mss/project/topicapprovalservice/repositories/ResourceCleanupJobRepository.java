@@ -0,0 +1,59 @@
+package mss.project.topicapprovalservice.repositories;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import mss.project.topicapprovalservice.enums.CleanupStatus;
+import mss.project.topicapprovalservice.enums.CleanupTarget;
+import mss.project.topicapprovalservice.pojos.ResourceCleanupJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ResourceCleanupJobRepository extends JpaRepository<ResourceCleanupJob, Long> {
+
+    /**
+     * Locks the oldest due jobs, skipping rows another worker already holds (FOR UPDATE SKIP LOCKED).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT j FROM ResourceCleanupJob j WHERE j.status = :status AND j.nextAttemptAt <= :now " +
+            "ORDER BY j.nextAttemptAt ASC, j.id ASC")
+    List<ResourceCleanupJob> findDueForUpdate(@Param("status") CleanupStatus status,
+                                              @Param("now") LocalDateTime now,
+                                              Pageable pageable);
+
+    @Query("SELECT j.resourceKey FROM ResourceCleanupJob j WHERE j.target = :target " +
+            "AND j.status = :status AND j.resourceKey IN :keys")
+    List<String> findKeysByStatus(@Param("target") CleanupTarget target,
+                                  @Param("status") CleanupStatus status,
+                                  @Param("keys") Collection<String> keys);
+
+    /**
+     * Locks the given jobs, waiting for a concurrent cancel to finish (and vice versa).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM ResourceCleanupJob j WHERE j.id IN :ids")
+    List<ResourceCleanupJob> lockAllById(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ResourceCleanupJob j SET j.status = mss.project.topicapprovalservice.enums.CleanupStatus.CANCELLED, " +
+            "j.completedAt = :now WHERE j.target = :target AND j.resourceKey = :key " +
+            "AND j.status = mss.project.topicapprovalservice.enums.CleanupStatus.PENDING")
+    int cancelPending(@Param("target") CleanupTarget target,
+                      @Param("key") String key,
+                      @Param("now") LocalDateTime now);
+
+    long countByStatus(CleanupStatus status);
+}
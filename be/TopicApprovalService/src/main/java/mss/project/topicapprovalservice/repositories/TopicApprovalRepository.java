@@ -4,12 +4,14 @@ import mss.project.topicapprovalservice.pojos.TopicApproval;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TopicApprovalRepository extends JpaRepository<TopicApproval, Long> {
     List<TopicApproval> findByTopicId(Long topicId);
+    List<TopicApproval> findByTopicIdIn(Collection<Long> topicIds);
     Optional<TopicApproval> findByTopicIdAndApproverEmail(Long topicId, String approverEmail);
     boolean existsByTopicIdAndApproverEmail(Long topicId, String approverEmail);
     long countByTopicId(Long topicId);
@@ -0,0 +1,17 @@
+package mss.project.topicapprovalservice.repositories;
+
+import mss.project.topicapprovalservice.pojos.TopicHistoryChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TopicHistoryChangeRepository extends JpaRepository<TopicHistoryChange, Long> {
+
+    @Query("SELECT c FROM TopicHistoryChange c WHERE c.history.id IN :historyIds ORDER BY c.id ASC")
+    List<TopicHistoryChange> findByHistoryIdIn(@Param("historyIds") Collection<Long> historyIds);
+}
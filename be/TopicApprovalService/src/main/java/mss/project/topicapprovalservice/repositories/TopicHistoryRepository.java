@@ -1,14 +1,27 @@
 package mss.project.topicapprovalservice.repositories;
 
+import mss.project.topicapprovalservice.dtos.responses.TopicHistoryDTOResponse;
 import mss.project.topicapprovalservice.pojos.TopicHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface TopicHistoryRepository extends JpaRepository<TopicHistory, Long> {
-    List<TopicHistory> findByTopicIdOrderByUpdatedAtDesc(Long topicId);
-    List<TopicHistory> findByUpdatedByOrderByUpdatedAtDesc(String updatedBy);
-    List<TopicHistory> findAllByOrderByUpdatedAtDesc();
-}
\ No newline at end of file
+public interface TopicHistoryRepository extends JpaRepository<TopicHistory, Long>, TopicHistoryRepositoryCustom {
+
+    String DTO_SELECT = "SELECT new mss.project.topicapprovalservice.dtos.responses.TopicHistoryDTOResponse(" +
+            "h.id, t.id, t.title, h.changedContent, h.updatedBy, h.updatedAt, h.actionType) " +
+            "FROM TopicHistory h JOIN h.topic t ";
+
+    @Query(DTO_SELECT + "WHERE t.id = :topicId ORDER BY h.updatedAt DESC, h.id DESC")
+    List<TopicHistoryDTOResponse> findDtosByTopicId(@Param("topicId") Long topicId);
+
+    @Query(DTO_SELECT + "WHERE h.updatedBy = :updatedBy ORDER BY h.updatedAt DESC, h.id DESC")
+    List<TopicHistoryDTOResponse> findDtosByUpdatedBy(@Param("updatedBy") String updatedBy);
+
+    @Query(DTO_SELECT + "ORDER BY h.updatedAt DESC, h.id DESC")
+    List<TopicHistoryDTOResponse> findAllDtos();
+}
@@ -0,0 +1,18 @@
+package mss.project.topicapprovalservice.repositories;
+
+import mss.project.topicapprovalservice.dtos.requests.TopicHistorySearchRequest;
+import mss.project.topicapprovalservice.dtos.responses.TopicHistoryDTOResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TopicHistoryRepositoryCustom {
+
+    /**
+     * History rows matching the request filters, projected with the topic title in one statement
+     * and ordered by (updatedAt DESC, id DESC). When {@code beforeUpdatedAt} is set only rows
+     * after that keyset position are returned.
+     */
+    List<TopicHistoryDTOResponse> search(TopicHistorySearchRequest filter, LocalDateTime beforeUpdatedAt,
+                                         Long beforeId, int limit);
+}
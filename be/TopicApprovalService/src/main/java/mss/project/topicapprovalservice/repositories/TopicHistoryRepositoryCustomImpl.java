@@ -0,0 +1,81 @@
+package mss.project.topicapprovalservice.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import mss.project.topicapprovalservice.dtos.requests.TopicHistorySearchRequest;
+import mss.project.topicapprovalservice.dtos.responses.TopicHistoryDTOResponse;
+import mss.project.topicapprovalservice.pojos.TopicHistory;
+import mss.project.topicapprovalservice.pojos.TopicHistoryChange;
+import mss.project.topicapprovalservice.pojos.Topics;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TopicHistoryRepositoryCustomImpl implements TopicHistoryRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TopicHistoryDTOResponse> search(TopicHistorySearchRequest filter, LocalDateTime beforeUpdatedAt,
+                                                Long beforeId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TopicHistoryDTOResponse> query = cb.createQuery(TopicHistoryDTOResponse.class);
+        Root<TopicHistory> history = query.from(TopicHistory.class);
+        Join<TopicHistory, Topics> topic = history.join("topic");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getTopicId() != null) {
+            predicates.add(cb.equal(history.get("topic").get("id"), filter.getTopicId()));
+        }
+        if (filter.getUpdatedBy() != null && !filter.getUpdatedBy().isBlank()) {
+            predicates.add(cb.equal(history.get("updatedBy"), filter.getUpdatedBy()));
+        }
+        if (filter.getActionType() != null && !filter.getActionType().isBlank()) {
+            predicates.add(cb.equal(history.get("actionType"), filter.getActionType().toUpperCase()));
+        }
+        if (filter.getField() != null) {
+            Subquery<Long> changed = query.subquery(Long.class);
+            Root<TopicHistoryChange> change = changed.from(TopicHistoryChange.class);
+            changed.select(change.get("id"))
+                    .where(cb.equal(change.get("history"), history),
+                            cb.equal(change.get("field"), filter.getField()));
+            predicates.add(cb.exists(changed));
+        }
+        if (filter.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(history.get("updatedAt"), filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            predicates.add(cb.lessThan(history.get("updatedAt"), filter.getTo()));
+        }
+        if (beforeUpdatedAt != null) {
+            // (updatedAt, id) < (cursorUpdatedAt, cursorId) theo thứ tự giảm dần
+            predicates.add(cb.or(
+                    cb.lessThan(history.get("updatedAt"), beforeUpdatedAt),
+                    cb.and(cb.equal(history.get("updatedAt"), beforeUpdatedAt),
+                            cb.lessThan(history.get("id"), beforeId))));
+        }
+
+        query.select(cb.construct(TopicHistoryDTOResponse.class,
+                        history.get("id"),
+                        topic.get("id"),
+                        topic.get("title"),
+                        history.get("changedContent"),
+                        history.get("updatedBy"),
+                        history.get("updatedAt"),
+                        history.get("actionType")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(history.get("updatedAt")), cb.desc(history.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -1,20 +1,99 @@
 package mss.project.topicapprovalservice.repositories;
 
 
+import mss.project.topicapprovalservice.dtos.responses.GetAllApprovedTopicsResponse;
+import mss.project.topicapprovalservice.dtos.responses.TopicsDTOResponse;
+import mss.project.topicapprovalservice.enums.TopicRole;
 import mss.project.topicapprovalservice.enums.TopicStatus;
 import mss.project.topicapprovalservice.pojos.Topics;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 
 @Repository
-public interface TopicsRepository extends JpaRepository<Topics, Long> {
+public interface TopicsRepository extends JpaRepository<Topics, Long>, JpaSpecificationExecutor<Topics> {
+
+    /**
+     * Only the columns TopicsDTOResponse needs, without managed entities or associations.
+     */
+    String DTO_SELECT = "SELECT new mss.project.topicapprovalservice.dtos.responses.TopicsDTOResponse(" +
+            "t.id, t.title, t.description, t.submitedAt, t.status, t.filePathUrl, t.createdBy, t.createdAt, t.updatedAt) " +
+            "FROM Topics t ";
+
     Optional<Topics> findById(Long id);
     List<Topics> findByStatus(TopicStatus status);
     List<Topics> findByStatusIn(List<TopicStatus> statuses);
     List<Topics> findByCreatedBy(String createdBy);
+
+    @Query(DTO_SELECT + "WHERE t.status = :status ORDER BY t.id")
+    List<TopicsDTOResponse> findDtosByStatus(@Param("status") TopicStatus status);
+
+    @Query(DTO_SELECT + "WHERE t.createdBy = :createdBy ORDER BY t.id")
+    List<TopicsDTOResponse> findDtosByCreatedBy(@Param("createdBy") String createdBy);
     List<Topics> findByCouncilIsNullAndStatus(TopicStatus status);
+    List<Topics> findByCouncilIsNullAndStatusAndIdGreaterThanOrderByIdAsc(TopicStatus status, Long afterId, Pageable pageable);
+
+    /**
+     * Topics in the given statuses that the approver has not yet approved and is not
+     * creator/member of (anti-join on topic_approvals and account_topics), ordered by id
+     * and starting after {@code afterId} for keyset paging.
+     */
+    @Query("SELECT t FROM Topics t WHERE t.status IN :statuses AND t.id > :afterId " +
+            "AND NOT EXISTS (SELECT 1 FROM TopicApproval a WHERE a.topic = t AND a.approverEmail = :approverEmail) " +
+            "AND NOT EXISTS (SELECT 1 FROM AccountTopics at WHERE at.topics = t AND at.accountId = :accountId AND at.role IN :roles) " +
+            "ORDER BY t.id ASC")
+    List<Topics> findPendingForApprover(@Param("statuses") List<TopicStatus> statuses,
+                                        @Param("approverEmail") String approverEmail,
+                                        @Param("accountId") Long accountId,
+                                        @Param("roles") List<TopicRole> roles,
+                                        @Param("afterId") Long afterId,
+                                        Pageable pageable);
+
+    /**
+     * Topics in the given statuses whose approval by {@code approverEmail} was the first one,
+     * projected straight into the response DTO and keyset-paged by topic id.
+     */
+    @Query("SELECT new mss.project.topicapprovalservice.dtos.responses.GetAllApprovedTopicsResponse(" +
+            "t.id, t.title, t.description, t.status) " +
+            "FROM TopicApproval a JOIN a.topic t " +
+            "WHERE a.approverEmail = :approverEmail AND a.approvedFirst = true " +
+            "AND t.status IN :statuses AND t.id > :afterId " +
+            "ORDER BY t.id ASC")
+    List<GetAllApprovedTopicsResponse> findApprovedFirstByApprover(@Param("approverEmail") String approverEmail,
+                                                                   @Param("statuses") List<TopicStatus> statuses,
+                                                                   @Param("afterId") Long afterId,
+                                                                   Pageable pageable);
+
+    /**
+     * Distinct topics in the given statuses that {@code approverEmail} has an approval record on.
+     */
+    @Query("SELECT t FROM Topics t WHERE t.status IN :statuses " +
+            "AND EXISTS (SELECT 1 FROM TopicApproval a WHERE a.topic = t AND a.approverEmail = :approverEmail)")
+    List<Topics> findApprovedByApprover(@Param("approverEmail") String approverEmail,
+                                        @Param("statuses") List<TopicStatus> statuses);
+
+    @Query("SELECT t FROM Topics t WHERE t.status = :status AND t.approvalCount >= t.requiredApprovals")
+    List<Topics> findFullyApprovedByStatus(@Param("status") TopicStatus status);
+
+    @Query("SELECT t FROM Topics t WHERE t.status = :status AND t.approvalCount >= t.requiredApprovals " +
+            "AND t.id > :afterId ORDER BY t.id ASC")
+    List<Topics> findFullyApprovedByStatus(@Param("status") TopicStatus status,
+                                           @Param("afterId") Long afterId,
+                                           Pageable pageable);
+
+    List<Topics> findByCouncil_IdOrderByDefenseTimeAscIdAsc(Long councilId);
+
+    @Query("SELECT t.filePathUrl FROM Topics t WHERE t.filePathUrl IS NOT NULL AND t.filePathUrl <> ''")
+    List<String> findAllFilePathUrls();
+
+    @Query("SELECT t.filePathUrl FROM Topics t WHERE t.filePathUrl IN :urls")
+    List<String> findFilePathUrlsIn(@Param("urls") Collection<String> urls);
 }
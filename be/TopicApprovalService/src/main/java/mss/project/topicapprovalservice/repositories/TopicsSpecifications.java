@@ -0,0 +1,44 @@
+package mss.project.topicapprovalservice.repositories;
+
+import jakarta.persistence.criteria.JoinType;
+import mss.project.topicapprovalservice.enums.TopicStatus;
+import mss.project.topicapprovalservice.pojos.Topics;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters and keyset conditions for listing topics. Each method returns null when
+ * its argument is absent, which {@link Specification#allOf} / {@code and} simply skip.
+ */
+public final class TopicsSpecifications {
+
+    private TopicsSpecifications() {
+    }
+
+    public static Specification<Topics> hasStatus(TopicStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Topics> createdBy(String createdBy) {
+        return createdBy == null || createdBy.isBlank() ? null
+                : (root, query, cb) -> cb.equal(root.get("createdBy"), createdBy);
+    }
+
+    public static Specification<Topics> inSemester(String semester) {
+        return semester == null || semester.isBlank() ? null
+                : (root, query, cb) -> cb.equal(root.join("council", JoinType.INNER).get("semester"), semester);
+    }
+
+    /** Keyset condition for ascending id order. */
+    public static Specification<Topics> idAfter(Long afterId) {
+        return afterId == null ? null : (root, query, cb) -> cb.greaterThan(root.get("id"), afterId);
+    }
+
+    /** Keyset condition for (createdAt DESC, id DESC) order. */
+    public static Specification<Topics> createdBefore(LocalDateTime createdAt, Long id) {
+        return createdAt == null ? null : (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), createdAt),
+                cb.and(cb.equal(root.get("createdAt"), createdAt), cb.lessThan(root.get("id"), id)));
+    }
+}
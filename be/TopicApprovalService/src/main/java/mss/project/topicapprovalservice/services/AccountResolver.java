@@ -0,0 +1,99 @@
+package mss.project.topicapprovalservice.services;
+
+import mss.project.topicapprovalservice.dtos.responses.AccountDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Request-scoped account lookup table.
+ * Callers register every account id they will need via {@link #prefetch(Collection)},
+ * which resolves all unknown ids with batch calls to AccountService (one per
+ * {@code account.batch-size} ids, sent concurrently).
+ * Later {@link #get(Long)} calls are served from memory for the rest of the request.
+ */
+@Component
+@RequestScope
+public class AccountResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountResolver.class);
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private RemoteFanOut remoteFanOut;
+
+    @Value("${account.batch-size:200}")
+    private int batchSize;
+
+    // Lưu cả kết quả null để không gọi lại AccountService cho id không tồn tại
+    private final Map<Long, AccountDTO> accounts = new HashMap<>();
+
+    public void prefetch(Collection<Long> ids) {
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id != null && !accounts.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        List<List<Long>> chunks = new ArrayList<>();
+        List<Long> missingIds = new ArrayList<>(missing);
+        for (int from = 0; from < missingIds.size(); from += batchSize) {
+            chunks.add(missingIds.subList(from, Math.min(from + batchSize, missingIds.size())));
+        }
+        Map<List<Long>, Map<Long, AccountDTO>> fetchedByChunk = remoteFanOut.map(chunks,
+                accountService::getAccountsByIds, RemoteFanOut.Policy.FAIL_FAST);
+
+        Map<Long, AccountDTO> fetched = new HashMap<>();
+        fetchedByChunk.values().forEach(chunk -> {
+            if (chunk != null) {
+                fetched.putAll(chunk);
+            }
+        });
+        logger.debug("Resolved {} of {} accounts in {} batch calls", fetched.size(), missing.size(), chunks.size());
+        for (Long id : missing) {
+            accounts.put(id, fetched.get(id));
+        }
+    }
+
+    /**
+     * @return the account, or null if AccountService does not know the id
+     */
+    public AccountDTO get(Long id) {
+        if (id == null) {
+            return null;
+        }
+        if (!accounts.containsKey(id)) {
+            // Id chưa được prefetch: fallback về lookup đơn lẻ và ghi nhớ kết quả
+            accounts.put(id, accountService.getAccountById(id));
+        }
+        return accounts.get(id);
+    }
+
+    public static Long parseAccountId(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
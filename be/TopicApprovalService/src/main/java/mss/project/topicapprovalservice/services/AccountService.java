@@ -4,13 +4,17 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import mss.project.topicapprovalservice.dtos.responses.AccountDTO;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
-@FeignClient(name = "account-service", url = "${account.service.url}")
+// primary = false: các service inject bản có cache (CachingAccountService), client gốc dùng qualifier
+@FeignClient(name = "account-service", url = "${account.service.url}", qualifiers = "accountFeignClient", primary = false)
 public interface AccountService {
 
     // Account endpoints
@@ -26,6 +30,10 @@ public interface AccountService {
     @GetMapping("/api/accounts/all")
     List<AccountDTO> getAllAccounts();
 
+    // Batch lookup: trả về map id -> account, id không tồn tại sẽ không có trong map
+    @PostMapping("/api/accounts/batch")
+    Map<Long, AccountDTO> getAccountsByIds(@RequestBody Collection<Long> ids);
+
     // Mail endpoints
     @PostMapping("/api/accounts/mail/topic-approved")
     void sendTopicApprovedEmail(
@@ -1,6 +1,10 @@
 package mss.project.topicapprovalservice.services;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 
 import mss.project.topicapprovalservice.dtos.responses.AccountDTO;
@@ -9,21 +13,61 @@ import mss.project.topicapprovalservice.exceptions.ErrorCode;
 
 @Service
 public class AuthorizationService {
-    
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthorizationService.class);
+
+    private static final String HEAD_OF_DEPARTMENT = "HEADOFDEPARTMENT";
+
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private ClaimsAuthorizationService claimsAuthorizationService;
+
+    // Chỉ gọi AccountService khi token không trả lời được (thiếu claim role hoặc có thể cũ hơn lần đổi role)
+    @Value("${authorization.remote-fallback.enabled:true}")
+    private boolean remoteFallbackEnabled;
+
+    /**
+     * Checks that the caller is a head of department. The caller is always the owner of the
+     * request's JWT: a {@code email} naming someone else is refused, never looked up. The role
+     * comes from the token claims; when the token has no role claim or may predate a role
+     * change, the account is looked up by the token's {@code sub} (if
+     * {@code authorization.remote-fallback.enabled}).
+     */
     public AccountDTO checkHeadOfDepartmentPermission(String email) {
-        AccountDTO account = accountService.getAccountByEmail(email);
-        
+        Jwt jwt = claimsAuthorizationService.currentJwt();
+        if (jwt == null) {
+            throw new AppException(ErrorCode.UNAUTHORIZED_ACCESS);
+        }
+        String tokenEmail = jwt.getClaimAsString(ClaimsAuthorizationService.EMAIL_CLAIM);
+        if (email != null && tokenEmail != null && !tokenEmail.equalsIgnoreCase(email)) {
+            logger.warn("Account {} tried to act as {}", jwt.getSubject(), email);
+            throw new AppException(ErrorCode.UNAUTHORIZED_ACCESS);
+        }
+
+        AccountDTO account = claimsAuthorizationService.accountFromClaims(jwt);
+        if (account == null) {
+            Long accountId = AccountResolver.parseAccountId(jwt.getSubject());
+            if (!remoteFallbackEnabled || accountId == null) {
+                throw new AppException(ErrorCode.UNAUTHORIZED_ACCESS);
+            }
+            logger.debug("Role of account {} not trusted from token claims, asking AccountService", accountId);
+            account = accountService.getAccountById(accountId);
+        }
+
         if (account == null) {
             throw new AppException(ErrorCode.ACCOUNT_NOT_FOUND);
         }
-        
-        if (!"HEADOFDEPARTMENT".equals(account.getRole())) {
+        // Token không có claim email: so với email thật của tài khoản
+        if (email != null && !email.equalsIgnoreCase(account.getEmail())) {
             throw new AppException(ErrorCode.UNAUTHORIZED_ACCESS);
         }
-        
+
+        if (!HEAD_OF_DEPARTMENT.equals(account.getRole())) {
+            throw new AppException(ErrorCode.UNAUTHORIZED_ACCESS);
+        }
+
         return account; // Trả về thông tin account nếu có quyền
     }
 }
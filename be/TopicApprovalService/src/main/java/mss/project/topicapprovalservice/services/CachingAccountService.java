@@ -0,0 +1,172 @@
+package mss.project.topicapprovalservice.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import mss.project.topicapprovalservice.dtos.responses.AccountDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Near-cache in front of the AccountService Feign client.
+ * Accounts are cached by id and by email with a bounded size and a TTL; concurrent misses
+ * for the same key share one remote call. Entries are evicted early through
+ * {@link #evict(Long, String)} when AccountService publishes a change notification.
+ */
+@Service
+@Primary
+public class CachingAccountService implements AccountService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingAccountService.class);
+
+    private static final String ALL_ACCOUNTS_KEY = "all";
+
+    private final AccountService delegate;
+
+    private final Cache<Long, AccountDTO> accountsById;
+
+    private final Cache<String, AccountDTO> accountsByEmail;
+
+    private final Cache<String, List<AccountDTO>> allAccounts;
+
+    private final Counter invalidations;
+
+    public CachingAccountService(@Qualifier("accountFeignClient") AccountService delegate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${account.cache.ttl:10m}") Duration ttl,
+                                 @Value("${account.cache.maximum-size:5000}") long maximumSize) {
+        this.delegate = delegate;
+        this.accountsById = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        this.accountsByEmail = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        this.allAccounts = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(1)
+                .recordStats()
+                .build();
+
+        // Hit/miss/eviction metrics: cache.gets{result=hit|miss}, cache.evictions, ... (tag cache=...)
+        CaffeineCacheMetrics.monitor(meterRegistry, accountsById, "accounts.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, accountsByEmail, "accounts.by-email");
+        CaffeineCacheMetrics.monitor(meterRegistry, allAccounts, "accounts.all");
+        this.invalidations = Counter.builder("account.cache.invalidations")
+                .description("Account cache entries evicted by change notifications")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public AccountDTO getAccountById(Long id) {
+        AccountDTO account = accountsById.get(id, delegate::getAccountById);
+        if (account != null && account.getEmail() != null) {
+            accountsByEmail.put(account.getEmail(), account);
+        }
+        return account;
+    }
+
+    @Override
+    public AccountDTO getAccountByEmail(String email) {
+        AccountDTO account = accountsByEmail.get(email, delegate::getAccountByEmail);
+        if (account != null && account.getId() != null) {
+            accountsById.put(account.getId(), account);
+        }
+        return account;
+    }
+
+    @Override
+    public AccountDTO getAccountByUsername(String username) {
+        return delegate.getAccountByUsername(username);
+    }
+
+    @Override
+    public List<AccountDTO> getAllAccounts() {
+        List<AccountDTO> accounts = allAccounts.get(ALL_ACCOUNTS_KEY, key -> {
+            List<AccountDTO> loaded = delegate.getAllAccounts();
+            return loaded != null ? List.copyOf(loaded) : null;
+        });
+        if (accounts == null) {
+            return List.of();
+        }
+        // Tận dụng danh sách đầy đủ để làm ấm cache theo id/email
+        accounts.forEach(this::index);
+        return accounts;
+    }
+
+    @Override
+    public Map<Long, AccountDTO> getAccountsByIds(Collection<Long> ids) {
+        List<Long> keys = ids.stream().filter(Objects::nonNull).distinct().toList();
+        // Chỉ gọi batch cho các id chưa có trong cache
+        return accountsById.getAll(keys, missing -> {
+            Map<Long, AccountDTO> loaded = delegate.getAccountsByIds(new ArrayList<>(missing));
+            if (loaded == null) {
+                return Map.of();
+            }
+            loaded.values().forEach(account -> {
+                if (account != null && account.getEmail() != null) {
+                    accountsByEmail.put(account.getEmail(), account);
+                }
+            });
+            return loaded;
+        });
+    }
+
+    @Override
+    public void sendTopicApprovedEmail(String to, String topicTitle, String topicId) {
+        delegate.sendTopicApprovedEmail(to, topicTitle, topicId);
+    }
+
+    /**
+     * Drop every cached view of an account. Either argument may be null.
+     */
+    public void evict(Long accountId, String email) {
+        if (accountId != null) {
+            AccountDTO cached = accountsById.getIfPresent(accountId);
+            accountsById.invalidate(accountId);
+            if (email == null && cached != null) {
+                email = cached.getEmail();
+            }
+            accountsByEmail.asMap().values().removeIf(account -> accountId.equals(account.getId()));
+        }
+        if (email != null) {
+            accountsByEmail.invalidate(email);
+        }
+        allAccounts.invalidateAll();
+        invalidations.increment();
+        logger.debug("Evicted cached account id={}, email={}", accountId, email);
+    }
+
+    public void evictAll() {
+        accountsById.invalidateAll();
+        accountsByEmail.invalidateAll();
+        allAccounts.invalidateAll();
+        invalidations.increment();
+    }
+
+    private void index(AccountDTO account) {
+        if (account.getId() != null) {
+            accountsById.put(account.getId(), account);
+        }
+        if (account.getEmail() != null) {
+            accountsByEmail.put(account.getEmail(), account);
+        }
+    }
+}
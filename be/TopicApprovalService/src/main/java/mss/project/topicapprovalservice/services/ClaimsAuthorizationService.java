@@ -0,0 +1,107 @@
+package mss.project.topicapprovalservice.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import mss.project.topicapprovalservice.dtos.responses.AccountDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Reads the caller's identity from the JWT already validated by JwtDecoderConfig.
+ * AccountService puts the account id in {@code sub} and the role, email and name in claims,
+ * so no remote call is needed to know who the caller is.
+ * <p>
+ * Tokens live for weeks, so the role claim is only trusted for tokens issued after the last
+ * ROLE_CHANGED event seen for the account, and after this instance started receiving those
+ * events (earlier ones may have been missed).
+ */
+@Service
+public class ClaimsAuthorizationService {
+
+    public static final String ROLE_CLAIM = "role";
+    public static final String EMAIL_CLAIM = "email";
+    public static final String NAME_CLAIM = "name";
+
+    // accountId -> thời điểm đổi role gần nhất; giữ bằng thời hạn token là đủ
+    private final Cache<Long, Instant> roleChangedAt;
+
+    // null: chưa nhận event đổi role nào được, không tin claim role của token nào
+    private volatile Instant roleEventsSince;
+
+    public ClaimsAuthorizationService(@Value("${authorization.token-lifetime:30d}") Duration tokenLifetime) {
+        this.roleChangedAt = Caffeine.newBuilder()
+                .expireAfterWrite(tokenLifetime)
+                .build();
+    }
+
+    /**
+     * @return the validated JWT of the current request, or null if the caller is anonymous
+     */
+    public Jwt currentJwt() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof JwtAuthenticationToken jwtAuth) {
+            return jwtAuth.getToken();
+        }
+        return null;
+    }
+
+    /**
+     * Account built from the token claims. Returns null when the token has no role claim or
+     * may predate a role change; the caller then has to look the account up by {@code sub}.
+     */
+    public AccountDTO accountFromClaims(Jwt jwt) {
+        String role = jwt.getClaimAsString(ROLE_CLAIM);
+        Long accountId = AccountResolver.parseAccountId(jwt.getSubject());
+        if (role == null || accountId == null || !issuedAfterLastRoleChange(jwt, accountId)) {
+            return null;
+        }
+        AccountDTO account = new AccountDTO();
+        account.setId(accountId);
+        account.setEmail(jwt.getClaimAsString(EMAIL_CLAIM));
+        account.setName(jwt.getClaimAsString(NAME_CLAIM));
+        account.setRole(role);
+        return account;
+    }
+
+    /**
+     * Called once the account event feed is subscribed; role events are seen from now on.
+     */
+    public void roleEventsAvailable() {
+        roleEventsSince = Instant.now();
+    }
+
+    /**
+     * Records a ROLE_CHANGED event; tokens of that account issued until now carry a stale role.
+     */
+    public void roleChanged(Long accountId) {
+        if (accountId != null) {
+            roleChangedAt.put(accountId, Instant.now());
+        }
+    }
+
+    /**
+     * An event could not be read, so any account may have changed role: distrust every token
+     * issued until now.
+     */
+    public void roleEventsLost() {
+        roleChangedAt.invalidateAll();
+        roleEventsSince = Instant.now();
+    }
+
+    private boolean issuedAfterLastRoleChange(Jwt jwt, Long accountId) {
+        Instant issuedAt = jwt.getIssuedAt();
+        Instant eventsSince = roleEventsSince;
+        if (issuedAt == null || eventsSince == null || issuedAt.isBefore(eventsSince)) {
+            return false;
+        }
+        Instant changedAt = roleChangedAt.getIfPresent(accountId);
+        return changedAt == null || issuedAt.isAfter(changedAt);
+    }
+}
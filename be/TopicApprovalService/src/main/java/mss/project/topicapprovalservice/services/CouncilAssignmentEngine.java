@@ -0,0 +1,404 @@
+package mss.project.topicapprovalservice.services;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Assigns four lecturers (chairman, secretary, two members) to each group of topics.
+ * <p>
+ * Conflicts (lecturer supervises/joins a topic of the group) and day bookings are kept as
+ * bitsets over lecturer indexes. Groups are placed greedily, hardest first, on the earliest
+ * day that still has four free, non-conflicting lecturers, picking the least loaded ones.
+ * Groups that do not fit are repaired by swapping a blocking lecturer out of another council
+ * on the same day, then a local search moves slots to less loaded lecturers until the
+ * workload is balanced. Groups that still cannot be staffed are reported, not thrown.
+ * The solver is deterministic: the same input always yields the same plan.
+ */
+@Component
+public class CouncilAssignmentEngine {
+
+    public static final int MEMBERS_PER_COUNCIL = 4;
+
+    @Getter
+    @Builder
+    public static class Problem {
+        private final List<Long> lecturerIds;
+        private final List<List<Long>> topicGroups;
+        /** topicId -> lecturers that supervise or belong to the topic. */
+        private final Map<Long, Set<Long>> conflictsByTopic;
+        /** Councils already booked per lecturer and day (one entry per council seat). */
+        private final Map<LocalDate, List<Long>> existingBookings;
+        /** Councils already held per lecturer this semester, used as the starting workload. */
+        private final Map<Long, Integer> existingWorkload;
+        private final LocalDate startDate;
+        private final int maxDays;
+        private final int maxCouncilsPerLecturerPerDay;
+        private final int localSearchPasses;
+    }
+
+    @Getter
+    public static class Assignment {
+        private final int groupIndex;
+        private final List<Long> topicIds;
+        private LocalDate date;
+        private Long chairmanId;
+        private Long secretaryId;
+        private final List<Long> memberIds = new ArrayList<>();
+
+        private Assignment(int groupIndex, List<Long> topicIds) {
+            this.groupIndex = groupIndex;
+            this.topicIds = topicIds;
+        }
+    }
+
+    @Getter
+    public static class InfeasibleGroup {
+        private final int groupIndex;
+        private final List<Long> topicIds;
+        private final String reason;
+
+        private InfeasibleGroup(int groupIndex, List<Long> topicIds, String reason) {
+            this.groupIndex = groupIndex;
+            this.topicIds = topicIds;
+            this.reason = reason;
+        }
+    }
+
+    @Getter
+    public static class Plan {
+        private final List<Assignment> assignments;
+        private final List<InfeasibleGroup> infeasibleGroups;
+        /** Councils per lecturer after the plan (existing workload included). */
+        private final Map<Long, Integer> workload;
+
+        private Plan(List<Assignment> assignments, List<InfeasibleGroup> infeasibleGroups, Map<Long, Integer> workload) {
+            this.assignments = assignments;
+            this.infeasibleGroups = infeasibleGroups;
+            this.workload = workload;
+        }
+    }
+
+    public Plan plan(Problem problem) {
+        return new Solver(problem).solve();
+    }
+
+    /** Mutable state of one solve run. */
+    private static final class Solver {
+        private final Problem problem;
+        private final int lecturerCount;
+        private final int days;
+        private final int dayLimit;
+        private final Map<Long, Integer> indexOf = new HashMap<>();
+        private final BitSet[] groupConflicts;
+        private final int[][] dayLoad;
+        private final BitSet[] dayFull;
+        private final int[] workload;
+        private final int[][] slots; // group -> lecturer indexes, null khi chưa xếp được
+        private final int[] dayOf;
+        private final List<List<Integer>> groupsByDay = new ArrayList<>();
+
+        Solver(Problem problem) {
+            this.problem = problem;
+            this.lecturerCount = problem.getLecturerIds().size();
+            this.days = Math.max(1, problem.getMaxDays());
+            this.dayLimit = Math.max(1, problem.getMaxCouncilsPerLecturerPerDay());
+            for (int i = 0; i < lecturerCount; i++) {
+                indexOf.put(problem.getLecturerIds().get(i), i);
+            }
+
+            int groupCount = problem.getTopicGroups().size();
+            this.groupConflicts = new BitSet[groupCount];
+            for (int g = 0; g < groupCount; g++) {
+                BitSet conflicts = new BitSet(lecturerCount);
+                for (Long topicId : problem.getTopicGroups().get(g)) {
+                    markAll(conflicts, problem.getConflictsByTopic().getOrDefault(topicId, Set.of()));
+                }
+                groupConflicts[g] = conflicts;
+            }
+
+            this.dayLoad = new int[days][lecturerCount];
+            this.dayFull = new BitSet[days];
+            for (int d = 0; d < days; d++) {
+                dayFull[d] = new BitSet(lecturerCount);
+                groupsByDay.add(new ArrayList<>());
+            }
+            if (problem.getExistingBookings() != null) {
+                problem.getExistingBookings().forEach((date, lecturerIds) -> {
+                    long d = date.toEpochDay() - problem.getStartDate().toEpochDay();
+                    if (d < 0 || d >= days) {
+                        return;
+                    }
+                    for (Long lecturerId : lecturerIds) {
+                        Integer i = indexOf.get(lecturerId);
+                        if (i != null) {
+                            book((int) d, i, 1);
+                        }
+                    }
+                });
+            }
+
+            this.workload = new int[lecturerCount];
+            if (problem.getExistingWorkload() != null) {
+                problem.getExistingWorkload().forEach((lecturerId, count) -> {
+                    Integer i = indexOf.get(lecturerId);
+                    if (i != null) {
+                        workload[i] += count;
+                    }
+                });
+            }
+
+            this.slots = new int[groupCount][];
+            this.dayOf = new int[groupCount];
+        }
+
+        Plan solve() {
+            int groupCount = groupConflicts.length;
+
+            // Greedy: nhóm có nhiều xung đột nhất được xếp trước
+            List<Integer> order = new ArrayList<>();
+            for (int g = 0; g < groupCount; g++) {
+                order.add(g);
+            }
+            order.sort(Comparator.comparingInt((Integer g) -> -groupConflicts[g].cardinality()).thenComparingInt(g -> g));
+
+            List<Integer> unplaced = new ArrayList<>();
+            for (int g : order) {
+                if (!placeGreedy(g) && !repair(g)) {
+                    unplaced.add(g);
+                }
+            }
+
+            balanceWorkload();
+
+            List<Assignment> assignments = new ArrayList<>();
+            List<InfeasibleGroup> infeasible = new ArrayList<>();
+            for (int g = 0; g < groupCount; g++) {
+                if (slots[g] == null) {
+                    continue;
+                }
+                Assignment assignment = new Assignment(g, problem.getTopicGroups().get(g));
+                assignment.date = problem.getStartDate().plusDays(dayOf[g]);
+                assignments.add(assignment);
+            }
+            assignRoles(assignments);
+            for (int g : unplaced) {
+                infeasible.add(new InfeasibleGroup(g, problem.getTopicGroups().get(g), explain(g)));
+            }
+            infeasible.sort(Comparator.comparingInt(InfeasibleGroup::getGroupIndex));
+
+            Map<Long, Integer> workloadById = new LinkedHashMap<>();
+            for (int i = 0; i < lecturerCount; i++) {
+                workloadById.put(problem.getLecturerIds().get(i), workload[i]);
+            }
+            return new Plan(assignments, infeasible, workloadById);
+        }
+
+        /** Earliest day with enough free lecturers; picks the least loaded of them. */
+        private boolean placeGreedy(int g) {
+            for (int d = 0; d < days; d++) {
+                BitSet eligible = eligible(g, d);
+                if (eligible.cardinality() >= MEMBERS_PER_COUNCIL) {
+                    int[] chosen = leastLoaded(eligible, MEMBERS_PER_COUNCIL);
+                    commit(g, d, chosen);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * For a group that could not be placed, frees lecturers on some day by swapping them
+         * out of another council on that day for a lecturer who is free but conflicts with g.
+         */
+        private boolean repair(int g) {
+            if (lecturerCount - groupConflicts[g].cardinality() < MEMBERS_PER_COUNCIL) {
+                return false;
+            }
+            for (int d = 0; d < days; d++) {
+                BitSet eligible = eligible(g, d);
+                // Ứng viên bị chặn chỉ vì đã kín lịch trong ngày d
+                BitSet blocked = (BitSet) dayFull[d].clone();
+                blocked.andNot(groupConflicts[g]);
+
+                for (int x = blocked.nextSetBit(0); x >= 0 && eligible.cardinality() < MEMBERS_PER_COUNCIL;
+                     x = blocked.nextSetBit(x + 1)) {
+                    if (swapOut(x, d, g)) {
+                        eligible.set(x);
+                    }
+                }
+                if (eligible.cardinality() >= MEMBERS_PER_COUNCIL) {
+                    commit(g, d, leastLoaded(eligible, MEMBERS_PER_COUNCIL));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /** Replaces lecturer x in one of the councils of day d, without using lecturers eligible for g. */
+        private boolean swapOut(int x, int d, int g) {
+            for (int other : groupsByDay.get(d)) {
+                int slot = indexIn(slots[other], x);
+                if (slot < 0) {
+                    continue;
+                }
+                BitSet replacements = eligible(other, d);
+                for (int member : slots[other]) {
+                    replacements.clear(member);
+                }
+                // Không lấy người mà nhóm g cũng cần
+                BitSet stillUsefulForG = eligible(g, d);
+                replacements.andNot(stillUsefulForG);
+                if (replacements.isEmpty()) {
+                    continue;
+                }
+                int y = leastLoaded(replacements, 1)[0];
+                move(other, slot, y);
+                return dayLoad[d][x] < dayLimit;
+            }
+            return false;
+        }
+
+        /** Local search: move a seat to a lecturer with a workload at least two lower. */
+        private void balanceWorkload() {
+            int passes = Math.max(0, problem.getLocalSearchPasses());
+            for (int pass = 0; pass < passes; pass++) {
+                boolean improved = false;
+                for (int g = 0; g < slots.length; g++) {
+                    if (slots[g] == null) {
+                        continue;
+                    }
+                    for (int s = 0; s < slots[g].length; s++) {
+                        int current = slots[g][s];
+                        BitSet candidates = eligible(g, dayOf[g]);
+                        for (int member : slots[g]) {
+                            candidates.clear(member);
+                        }
+                        if (candidates.isEmpty()) {
+                            continue;
+                        }
+                        int best = leastLoaded(candidates, 1)[0];
+                        // Tổng bình phương workload giảm khi chênh lệch >= 2
+                        if (workload[best] < workload[current] - 1) {
+                            move(g, s, best);
+                            improved = true;
+                        }
+                    }
+                }
+                if (!improved) {
+                    break;
+                }
+            }
+        }
+
+        /** Chairman and secretary go to the members who held that role least often so far. */
+        private void assignRoles(List<Assignment> assignments) {
+            assignments.sort(Comparator.comparing(Assignment::getDate).thenComparingInt(Assignment::getGroupIndex));
+            int[] chairCount = new int[lecturerCount];
+            int[] secretaryCount = new int[lecturerCount];
+            for (Assignment assignment : assignments) {
+                List<Integer> members = new ArrayList<>();
+                for (int i : slots[assignment.getGroupIndex()]) {
+                    members.add(i);
+                }
+                members.sort(Comparator.comparingInt(i -> i));
+
+                int chairman = members.stream().min(Comparator.comparingInt(i -> chairCount[i])).orElseThrow();
+                chairCount[chairman]++;
+                members.remove(Integer.valueOf(chairman));
+                int secretary = members.stream().min(Comparator.comparingInt(i -> secretaryCount[i])).orElseThrow();
+                secretaryCount[secretary]++;
+                members.remove(Integer.valueOf(secretary));
+
+                assignment.chairmanId = problem.getLecturerIds().get(chairman);
+                assignment.secretaryId = problem.getLecturerIds().get(secretary);
+                members.forEach(i -> assignment.memberIds.add(problem.getLecturerIds().get(i)));
+            }
+        }
+
+        private String explain(int g) {
+            int free = lecturerCount - groupConflicts[g].cardinality();
+            if (free < MEMBERS_PER_COUNCIL) {
+                return "Only " + free + " lecturers have no conflict with these topics, "
+                        + MEMBERS_PER_COUNCIL + " are required";
+            }
+            return "No day within " + days + " days from " + problem.getStartDate()
+                    + " has " + MEMBERS_PER_COUNCIL + " free, non-conflicting lecturers";
+        }
+
+        private BitSet eligible(int g, int d) {
+            BitSet eligible = new BitSet(lecturerCount);
+            eligible.set(0, lecturerCount);
+            eligible.andNot(groupConflicts[g]);
+            eligible.andNot(dayFull[d]);
+            return eligible;
+        }
+
+        private int[] leastLoaded(BitSet candidates, int count) {
+            List<Integer> list = new ArrayList<>(candidates.cardinality());
+            for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                list.add(i);
+            }
+            list.sort(Comparator.comparingInt((Integer i) -> workload[i]).thenComparingInt(i -> i));
+            int[] chosen = new int[count];
+            for (int k = 0; k < count; k++) {
+                chosen[k] = list.get(k);
+            }
+            return chosen;
+        }
+
+        private void commit(int g, int d, int[] chosen) {
+            slots[g] = chosen;
+            dayOf[g] = d;
+            groupsByDay.get(d).add(g);
+            for (int i : chosen) {
+                book(d, i, 1);
+                workload[i]++;
+            }
+        }
+
+        private void move(int g, int slot, int to) {
+            int from = slots[g][slot];
+            int d = dayOf[g];
+            book(d, from, -1);
+            workload[from]--;
+            book(d, to, 1);
+            workload[to]++;
+            slots[g][slot] = to;
+        }
+
+        private void book(int d, int i, int delta) {
+            dayLoad[d][i] += delta;
+            dayFull[d].set(i, dayLoad[d][i] >= dayLimit);
+        }
+
+        private void markAll(BitSet bits, Collection<Long> lecturerIds) {
+            for (Long lecturerId : lecturerIds) {
+                Integer i = indexOf.get(lecturerId);
+                if (i != null) {
+                    bits.set(i);
+                }
+            }
+        }
+
+        private static int indexIn(int[] values, int value) {
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] == value) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
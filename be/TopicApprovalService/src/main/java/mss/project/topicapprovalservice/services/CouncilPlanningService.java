@@ -0,0 +1,541 @@
+package mss.project.topicapprovalservice.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import mss.project.topicapprovalservice.dtos.requests.CouncilCreateRequest;
+import mss.project.topicapprovalservice.dtos.requests.CouncilPlanningRequest;
+import mss.project.topicapprovalservice.dtos.responses.*;
+import mss.project.topicapprovalservice.enums.Milestone;
+import mss.project.topicapprovalservice.enums.Role;
+import mss.project.topicapprovalservice.enums.Status;
+import mss.project.topicapprovalservice.enums.TopicStatus;
+import mss.project.topicapprovalservice.exceptions.AppException;
+import mss.project.topicapprovalservice.exceptions.ErrorCode;
+import mss.project.topicapprovalservice.pojos.*;
+import mss.project.topicapprovalservice.repositories.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Plans defense councils with {@link CouncilAssignmentEngine}. Planning runs against an
+ * in-memory snapshot (topics, WEEK_12 review dates, lecturers, existing seats) taken once
+ * per request, so variants can be simulated in parallel without touching the database;
+ * a simulated plan is kept for a while and can then be persisted by id.
+ */
+@Service
+public class CouncilPlanningService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CouncilPlanningService.class);
+
+    private static final int DEFAULT_GROUP_SIZE = 6;
+    private static final int MAX_VARIANTS = 10;
+
+    @Autowired
+    private CouncilRepository councilRepository;
+
+    @Autowired
+    private CouncilMemberRepository councilMemberRepository;
+
+    @Autowired
+    private TopicsRepository topicsRepository;
+
+    @Autowired
+    private AccountService accountFeignClient;
+
+    @Autowired
+    private AccountTopicsRepository accountTopicsRepository;
+
+    @Autowired
+    private ProgressReviewCouncilRepository progressReviewCouncilRepository;
+
+    @Autowired
+    private CouncilAssignmentEngine assignmentEngine;
+
+    @Autowired
+    @Qualifier("councilPlanningExecutor")
+    private ThreadPoolTaskExecutor planningExecutor;
+
+    // Số ngày tối đa (kể từ ngày bắt đầu) engine được phép xếp lịch
+    @Value("${council.assignment.max-days:30}")
+    private int assignmentMaxDays;
+
+    @Value("${council.assignment.max-councils-per-lecturer-per-day:1}")
+    private int maxCouncilsPerLecturerPerDay;
+
+    @Value("${council.assignment.local-search-passes:50}")
+    private int localSearchPasses;
+
+    private final Duration planTtl;
+
+    private final Cache<String, StoredPlan> plans;
+
+    public CouncilPlanningService(@Value("${council.planning.plan-ttl:30m}") Duration planTtl) {
+        this.planTtl = planTtl;
+        this.plans = Caffeine.newBuilder()
+                .expireAfterWrite(planTtl)
+                .maximumSize(200)
+                .build();
+    }
+
+    /** Data the engine needs, loaded once and shared read-only by all variants. */
+    private static class Snapshot {
+        private String semester;
+        private List<Long> topicIds;
+        private Map<Long, Topics> topicsById;
+        private LocalDate defaultStartDate;
+        private Map<Long, AccountDTO> lecturersById;
+        private Map<Long, Set<Long>> conflictsByTopic;
+        private List<CouncilMember> bookedSeats;
+    }
+
+    /** A solved variant waiting to be committed. */
+    private static class StoredPlan {
+        private final String semester;
+        private final List<CouncilAssignmentEngine.Assignment> assignments;
+        private final List<CouncilAssignmentEngine.InfeasibleGroup> infeasibleGroups;
+        private final Map<Long, AccountDTO> lecturersById;
+        private final int maxCouncilsPerLecturerPerDay;
+
+        private StoredPlan(String semester, CouncilAssignmentEngine.Plan plan, Map<Long, AccountDTO> lecturersById,
+                           int maxCouncilsPerLecturerPerDay) {
+            this.semester = semester;
+            this.assignments = plan.getAssignments();
+            this.infeasibleGroups = plan.getInfeasibleGroups();
+            this.lecturersById = lecturersById;
+            this.maxCouncilsPerLecturerPerDay = maxCouncilsPerLecturerPerDay;
+        }
+    }
+
+    /**
+     * Plans with the default settings and persists the result right away (POST /api/councils/create).
+     */
+    @Transactional
+    public CouncilAssignmentResponse assignAndPersist(CouncilCreateRequest request) {
+        Snapshot snapshot = loadSnapshot(request.getSemester(), request.getTopicId(), null, null);
+        if (snapshot.topicIds.isEmpty()) {
+            return CouncilAssignmentResponse.builder().councils(List.of()).infeasibleGroups(List.of()).build();
+        }
+        CouncilPlanningRequest.Variant variant = new CouncilPlanningRequest.Variant();
+        CouncilAssignmentEngine.Plan plan = solve(snapshot, variant);
+        return persist(new StoredPlan(snapshot.semester, plan, snapshot.lecturersById, maxPerDayOf(variant)),
+                snapshot.topicsById);
+    }
+
+    /**
+     * Solves every variant in parallel on the planning pool. Nothing is written to the database.
+     */
+    @Transactional(readOnly = true)
+    public List<CouncilPlanResponse> simulate(CouncilPlanningRequest request) {
+        List<CouncilPlanningRequest.Variant> variants = request.getVariants() == null || request.getVariants().isEmpty()
+                ? List.of(new CouncilPlanningRequest.Variant())
+                : request.getVariants();
+        if (variants.size() > MAX_VARIANTS) {
+            throw new AppException(ErrorCode.TOO_MANY_PLAN_VARIANTS);
+        }
+        if (request.getTopicId() == null || request.getTopicId().isEmpty()) {
+            throw new AppException(ErrorCode.NO_TOPICS_TO_PLAN);
+        }
+
+        LocalDate earliestOverride = variants.stream().map(CouncilPlanningRequest.Variant::getStartDate)
+                .filter(Objects::nonNull).min(LocalDate::compareTo).orElse(null);
+        LocalDate latestOverride = variants.stream().map(CouncilPlanningRequest.Variant::getStartDate)
+                .filter(Objects::nonNull).max(LocalDate::compareTo).orElse(null);
+        int widestHorizon = variants.stream().map(CouncilPlanningRequest.Variant::getMaxDays)
+                .filter(Objects::nonNull).max(Integer::compareTo).orElse(assignmentMaxDays);
+        Snapshot snapshot = loadSnapshot(request.getSemester(), request.getTopicId(), earliestOverride,
+                latestOverride != null ? latestOverride.plusDays(Math.max(widestHorizon, assignmentMaxDays)) : null);
+
+        // Engine chỉ đọc snapshot nên các variant chạy song song được
+        List<CompletableFuture<CouncilPlanResponse>> futures = variants.stream()
+                .map(variant -> CompletableFuture.supplyAsync(() -> simulateVariant(snapshot, variant), planningExecutor))
+                .toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    /**
+     * Persists a previously simulated plan. Fails if any of its topics was assigned meanwhile, or
+     * if councils created since the simulation took seats the plan relies on.
+     */
+    @Transactional
+    public CouncilAssignmentResponse commitPlan(String planId) {
+        StoredPlan plan = plans.getIfPresent(planId);
+        if (plan == null) {
+            throw new AppException(ErrorCode.COUNCIL_PLAN_NOT_FOUND);
+        }
+        List<Long> topicIds = plan.assignments.stream().flatMap(a -> a.getTopicIds().stream()).toList();
+        Map<Long, Topics> topicsById = topicsRepository.findAllById(topicIds).stream()
+                .collect(Collectors.toMap(Topics::getId, topic -> topic));
+        for (Long topicId : topicIds) {
+            Topics topic = topicsById.get(topicId);
+            if (topic == null) {
+                throw new AppException(ErrorCode.TOPIC_NOT_FOUND);
+            }
+            if (topic.getCouncil() != null) {
+                throw new AppException(ErrorCode.TOPIC_ALREADY_ASSIGNED_TO_COUNCIL);
+            }
+        }
+        checkLecturersStillFree(plan);
+        CouncilAssignmentResponse response = persist(plan, topicsById);
+        plans.invalidate(planId);
+        return response;
+    }
+
+    /**
+     * Re-reads current seats on the plan's days: each lecturer's existing councils plus the ones
+     * the plan adds on a day must stay within the plan's per-day limit.
+     */
+    private void checkLecturersStillFree(StoredPlan plan) {
+        Map<LocalDate, Map<Long, Integer>> plannedByDay = new HashMap<>();
+        for (CouncilAssignmentEngine.Assignment assignment : plan.assignments) {
+            Map<Long, Integer> planned = plannedByDay.computeIfAbsent(assignment.getDate(), d -> new HashMap<>());
+            planned.merge(assignment.getChairmanId(), 1, Integer::sum);
+            planned.merge(assignment.getSecretaryId(), 1, Integer::sum);
+            assignment.getMemberIds().forEach(accountId -> planned.merge(accountId, 1, Integer::sum));
+        }
+        if (plannedByDay.isEmpty()) {
+            return;
+        }
+        Map<LocalDate, Map<Long, Integer>> bookedByDay = new HashMap<>();
+        for (CouncilMember seat : councilMemberRepository.findBookedOn(plannedByDay.keySet())) {
+            bookedByDay.computeIfAbsent(seat.getCouncil().getDefenseDate(), d -> new HashMap<>())
+                    .merge(seat.getAccountId(), 1, Integer::sum);
+        }
+        plannedByDay.forEach((date, planned) -> {
+            Map<Long, Integer> booked = bookedByDay.getOrDefault(date, Map.of());
+            planned.forEach((accountId, count) -> {
+                if (booked.getOrDefault(accountId, 0) + count > plan.maxCouncilsPerLecturerPerDay) {
+                    logger.info("Plan conflicts with seats booked since simulation: lecturer {} on {}", accountId, date);
+                    throw new AppException(ErrorCode.COUNCIL_PLAN_CONFLICT);
+                }
+            });
+        });
+    }
+
+    private CouncilPlanResponse simulateVariant(Snapshot snapshot, CouncilPlanningRequest.Variant variant) {
+        long started = System.nanoTime();
+        CouncilAssignmentEngine.Plan plan = solve(snapshot, variant);
+        long solveMillis = (System.nanoTime() - started) / 1_000_000;
+
+        String planId = UUID.randomUUID().toString();
+        plans.put(planId, new StoredPlan(snapshot.semester, plan, snapshot.lecturersById, maxPerDayOf(variant)));
+
+        List<CouncilResponse> councils = plan.getAssignments().stream()
+                .map(assignment -> toProposedCouncil(assignment, snapshot))
+                .toList();
+        return CouncilPlanResponse.builder()
+                .planId(planId)
+                .expiresAt(LocalDateTime.now().plus(planTtl).toString())
+                .startDate(startDateOf(snapshot, variant).toString())
+                .groupSize(groupSizeOf(variant))
+                .maxDays(maxDaysOf(variant))
+                .maxCouncilsPerLecturerPerDay(maxPerDayOf(variant))
+                .metrics(metricsOf(plan, solveMillis))
+                .councils(councils)
+                .infeasibleGroups(toInfeasibleResponses(plan))
+                .build();
+    }
+
+    private CouncilAssignmentEngine.Plan solve(Snapshot snapshot, CouncilPlanningRequest.Variant variant) {
+        int groupSize = groupSizeOf(variant);
+        List<List<Long>> groups = new ArrayList<>();
+        for (int i = 0; i < snapshot.topicIds.size(); i += groupSize) {
+            groups.add(snapshot.topicIds.subList(i, Math.min(i + groupSize, snapshot.topicIds.size())));
+        }
+
+        LocalDate startDate = startDateOf(snapshot, variant);
+        int maxDays = maxDaysOf(variant);
+        LocalDate horizonEnd = startDate.plusDays(maxDays - 1L);
+        Map<LocalDate, List<Long>> existingBookings = new HashMap<>();
+        Map<Long, Integer> existingWorkload = new HashMap<>();
+        for (CouncilMember seat : snapshot.bookedSeats) {
+            Council council = seat.getCouncil();
+            LocalDate date = council.getDefenseDate();
+            if (date != null && !date.isBefore(startDate) && !date.isAfter(horizonEnd)) {
+                existingBookings.computeIfAbsent(date, d -> new ArrayList<>()).add(seat.getAccountId());
+            }
+            if (snapshot.semester.equals(council.getSemester())) {
+                existingWorkload.merge(seat.getAccountId(), 1, Integer::sum);
+            }
+        }
+
+        return assignmentEngine.plan(CouncilAssignmentEngine.Problem.builder()
+                .lecturerIds(new ArrayList<>(snapshot.lecturersById.keySet()))
+                .topicGroups(groups)
+                .conflictsByTopic(snapshot.conflictsByTopic)
+                .existingBookings(existingBookings)
+                .existingWorkload(existingWorkload)
+                .startDate(startDate)
+                .maxDays(maxDays)
+                .maxCouncilsPerLecturerPerDay(maxPerDayOf(variant))
+                .localSearchPasses(localSearchPasses)
+                .build());
+    }
+
+    /**
+     * Loads everything the engine needs in bulk. Seats are loaded for the semester and for
+     * [bookingsFrom, bookingsTo] (defaults to the default start date plus the configured horizon).
+     */
+    private Snapshot loadSnapshot(String semesterName, List<Long> requestedTopicIds,
+                                  LocalDate bookingsFrom, LocalDate bookingsTo) {
+        Snapshot snapshot = new Snapshot();
+        snapshot.semester = "Học kỳ " + semesterName;
+        snapshot.topicIds = requestedTopicIds != null ? requestedTopicIds.stream().distinct().toList() : List.of();
+        if (snapshot.topicIds.isEmpty()) {
+            return snapshot;
+        }
+
+        // Lấy toàn bộ topic trong một query, giữ thứ tự theo request
+        snapshot.topicsById = topicsRepository.findAllById(snapshot.topicIds).stream()
+                .collect(Collectors.toMap(Topics::getId, topic -> topic));
+        for (Long topicId : snapshot.topicIds) {
+            Topics topic = snapshot.topicsById.get(topicId);
+            if (topic == null) {
+                throw new AppException(ErrorCode.TOPIC_NOT_FOUND);
+            }
+            if (topic.getCouncil() != null) {
+                throw new AppException(ErrorCode.TOPIC_ALREADY_ASSIGNED_TO_COUNCIL);
+            }
+        }
+
+        snapshot.defaultStartDate = resolveDefenseStartDate(snapshot.topicIds);
+
+        // Giảng viên: tải một lần (ADMIN không tham gia hội đồng)
+        snapshot.lecturersById = new LinkedHashMap<>();
+        for (AccountDTO account : accountFeignClient.getAllAccounts()) {
+            if (account.getId() != null && !"ADMIN".equals(account.getRole())) {
+                snapshot.lecturersById.put(account.getId(), account);
+            }
+        }
+
+        snapshot.conflictsByTopic = accountTopicsRepository.findByTopicsIdIn(snapshot.topicIds).stream()
+                .collect(Collectors.groupingBy(accountTopic -> accountTopic.getTopics().getId(),
+                        Collectors.mapping(AccountTopics::getAccountId, Collectors.toSet())));
+
+        LocalDate from = bookingsFrom != null && bookingsFrom.isBefore(snapshot.defaultStartDate)
+                ? bookingsFrom : snapshot.defaultStartDate;
+        LocalDate to = snapshot.defaultStartDate.plusDays(assignmentMaxDays);
+        if (bookingsTo != null && bookingsTo.isAfter(to)) {
+            to = bookingsTo;
+        }
+        snapshot.bookedSeats = councilMemberRepository.findBookedForSemesterOrBetween(snapshot.semester, from, to);
+        return snapshot;
+    }
+
+    /**
+     * Defense starts three weeks after the earliest completed WEEK_12 review of the given topics.
+     */
+    private LocalDate resolveDefenseStartDate(List<Long> topicIds) {
+        Map<Long, ProgressReviewCouncils> reviewByTopic = progressReviewCouncilRepository
+                .findAllByTopic_IdInAndMilestone(topicIds, Milestone.WEEK_12).stream()
+                .collect(Collectors.toMap(review -> review.getTopic().getId(), review -> review, (a, b) -> a));
+
+        LocalDateTime earliestReview = null;
+        for (Long topicId : topicIds) {
+            ProgressReviewCouncils reviewCouncil = reviewByTopic.get(topicId);
+            if (reviewCouncil == null) {
+                throw new AppException(ErrorCode.REVIEW_COUNCIL_NOT_FOUND);
+            }
+            if (!reviewCouncil.getStatus().equals(Status.COMPLETED)) {
+                throw new AppException(ErrorCode.REVIEW_COUNCIL_NOT_COMPLETED);
+            }
+            if (earliestReview == null || reviewCouncil.getReviewDate().isBefore(earliestReview)) {
+                earliestReview = reviewCouncil.getReviewDate();
+            }
+        }
+        return earliestReview.toLocalDate().plusWeeks(3);
+    }
+
+    /**
+     * Writes councils, seats and topic slots of a plan with one saveAll per table.
+     */
+    private CouncilAssignmentResponse persist(StoredPlan plan, Map<Long, Topics> topicsById) {
+        List<Council> councils = new ArrayList<>();
+        for (CouncilAssignmentEngine.Assignment assignment : plan.assignments) {
+            Council council = new Council();
+            council.setCouncilName("Hội Đồng Chấm ngày " + assignment.getDate());
+            council.setSemester(plan.semester);
+            council.setStatus(Status.PLANNED);
+            council.setRetakeDefenseDate(null);
+            council.setDefenseDate(assignment.getDate());
+            councils.add(council);
+        }
+        councilRepository.saveAll(councils);
+
+        List<CouncilMember> allMembers = new ArrayList<>();
+        List<Topics> allTopics = new ArrayList<>();
+        List<List<CouncilMember>> membersPerCouncil = new ArrayList<>();
+        for (int i = 0; i < councils.size(); i++) {
+            Council council = councils.get(i);
+            CouncilAssignmentEngine.Assignment assignment = plan.assignments.get(i);
+
+            List<Topics> topicList = assignment.getTopicIds().stream().map(topicsById::get).toList();
+            for (int j = 0; j < topicList.size(); j++) {
+                Topics topic = topicList.get(j);
+                topic.setCouncil(council);
+                topic.setDefenseTime(defenseTimeOf(j));
+                topic.setStatus(TopicStatus.ASSIGNED_TO_COUNCIL);
+            }
+            council.setTopics(new ArrayList<>(topicList));
+            allTopics.addAll(topicList);
+
+            List<CouncilMember> members = new ArrayList<>();
+            members.add(newCouncilMember(council, assignment.getChairmanId(), Role.CHAIRMAN));
+            members.add(newCouncilMember(council, assignment.getSecretaryId(), Role.SECRETARY));
+            assignment.getMemberIds().forEach(accountId -> members.add(newCouncilMember(council, accountId, Role.MEMBER)));
+            council.setCouncilMembers(members);
+            membersPerCouncil.add(members);
+            allMembers.addAll(members);
+        }
+        topicsRepository.saveAll(allTopics);
+        councilMemberRepository.saveAll(allMembers);
+
+        List<CouncilResponse> responses = new ArrayList<>();
+        for (int i = 0; i < councils.size(); i++) {
+            Council council = councils.get(i);
+            responses.add(toCouncilResponse(council.getId(), council.getCouncilName(), council.getSemester(),
+                    council.getDefenseDate(), council.getStatus(), council.getTopics(),
+                    membersPerCouncil.get(i).stream()
+                            .map(member -> toMemberResponse(member.getId(), member.getAccountId(), member.getRole(),
+                                    plan.lecturersById))
+                            .toList()));
+        }
+        logger.info("Persisted {} councils for {} ({} groups infeasible)",
+                councils.size(), plan.semester, plan.infeasibleGroups.size());
+
+        return CouncilAssignmentResponse.builder()
+                .councils(responses)
+                .infeasibleGroups(plan.infeasibleGroups.stream()
+                        .map(group -> UnassignedTopicGroupResponse.builder()
+                                .topicIds(group.getTopicIds())
+                                .reason(group.getReason())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    private CouncilResponse toProposedCouncil(CouncilAssignmentEngine.Assignment assignment, Snapshot snapshot) {
+        List<Topics> topicList = assignment.getTopicIds().stream().map(snapshot.topicsById::get).toList();
+        List<CouncilMemberResponse> members = new ArrayList<>();
+        members.add(toMemberResponse(null, assignment.getChairmanId(), Role.CHAIRMAN, snapshot.lecturersById));
+        members.add(toMemberResponse(null, assignment.getSecretaryId(), Role.SECRETARY, snapshot.lecturersById));
+        assignment.getMemberIds().forEach(accountId ->
+                members.add(toMemberResponse(null, accountId, Role.MEMBER, snapshot.lecturersById)));
+        return toCouncilResponse(null, "Hội Đồng Chấm ngày " + assignment.getDate(), snapshot.semester,
+                assignment.getDate(), Status.PLANNED, topicList, members);
+    }
+
+    private CouncilResponse toCouncilResponse(Long id, String name, String semester, LocalDate date, Status status,
+                                              List<Topics> topicList, List<CouncilMemberResponse> members) {
+        List<TopicsDTOResponse> topicResponses = new ArrayList<>();
+        for (int j = 0; j < topicList.size(); j++) {
+            Topics topic = topicList.get(j);
+            topicResponses.add(TopicsDTOResponse.builder()
+                    .id(topic.getId())
+                    .title(topic.getTitle())
+                    .description(topic.getDescription())
+                    .defenseTime(defenseTimeOf(j))
+                    .build());
+        }
+        return CouncilResponse.builder()
+                .id(id)
+                .councilName(name)
+                .semester(semester)
+                .date(date.toString())
+                .status(status)
+                .topic(topicResponses)
+                .councilMembers(members)
+                .build();
+    }
+
+    private CouncilMemberResponse toMemberResponse(Long memberId, Long accountId, Role role,
+                                                   Map<Long, AccountDTO> lecturersById) {
+        AccountDTO acc = lecturersById.get(accountId);
+        return CouncilMemberResponse.builder()
+                .id(memberId)
+                .accountId(accountId)
+                .fullName(acc != null ? acc.getName() : null)
+                .email(acc != null ? acc.getEmail() : null)
+                .role(role)
+                .phoneNumber(acc != null ? acc.getPhoneNumber() : null)
+                .build();
+    }
+
+    private CouncilPlanMetricsResponse metricsOf(CouncilAssignmentEngine.Plan plan, long solveMillis) {
+        IntSummaryStatistics load = plan.getWorkload().values().stream().mapToInt(Integer::intValue).summaryStatistics();
+        double mean = load.getAverage();
+        double variance = plan.getWorkload().values().stream()
+                .mapToDouble(count -> (count - mean) * (count - mean)).average().orElse(0);
+        List<LocalDate> dates = plan.getAssignments().stream().map(CouncilAssignmentEngine.Assignment::getDate)
+                .distinct().sorted().toList();
+        int assignedTopics = plan.getAssignments().stream().mapToInt(a -> a.getTopicIds().size()).sum();
+        int unassignedTopics = plan.getInfeasibleGroups().stream().mapToInt(g -> g.getTopicIds().size()).sum();
+
+        return CouncilPlanMetricsResponse.builder()
+                .councilCount(plan.getAssignments().size())
+                .assignedTopicCount(assignedTopics)
+                .unassignedTopicCount(unassignedTopics)
+                .daysUsed(dates.size())
+                .firstDefenseDate(dates.isEmpty() ? null : dates.get(0).toString())
+                .lastDefenseDate(dates.isEmpty() ? null : dates.get(dates.size() - 1).toString())
+                .minWorkload(load.getCount() == 0 ? 0 : load.getMin())
+                .maxWorkload(load.getCount() == 0 ? 0 : load.getMax())
+                .workloadStdDev(Math.round(Math.sqrt(variance) * 100) / 100.0)
+                .solveMillis(solveMillis)
+                .build();
+    }
+
+    private List<UnassignedTopicGroupResponse> toInfeasibleResponses(CouncilAssignmentEngine.Plan plan) {
+        return plan.getInfeasibleGroups().stream()
+                .map(group -> UnassignedTopicGroupResponse.builder()
+                        .topicIds(group.getTopicIds())
+                        .reason(group.getReason())
+                        .build())
+                .toList();
+    }
+
+    private CouncilMember newCouncilMember(Council council, Long accountId, Role role) {
+        CouncilMember member = new CouncilMember();
+        member.setAccountId(accountId);
+        member.setCouncil(council);
+        member.setRole(role);
+        return member;
+    }
+
+    // 90 phút chấm + 15 phút nghỉ mỗi đề tài, nghỉ trưa 45 phút sau đề tài thứ 3
+    private LocalTime defenseTimeOf(int slot) {
+        LocalTime time = LocalTime.of(8, 0).plusMinutes((long) slot * (90 + 15));
+        return slot >= 3 ? time.plusMinutes(45) : time;
+    }
+
+    private LocalDate startDateOf(Snapshot snapshot, CouncilPlanningRequest.Variant variant) {
+        return variant.getStartDate() != null ? variant.getStartDate() : snapshot.defaultStartDate;
+    }
+
+    private int groupSizeOf(CouncilPlanningRequest.Variant variant) {
+        return variant.getGroupSize() != null ? Math.max(1, Math.min(variant.getGroupSize(), 10)) : DEFAULT_GROUP_SIZE;
+    }
+
+    private int maxDaysOf(CouncilPlanningRequest.Variant variant) {
+        return variant.getMaxDays() != null ? Math.max(1, Math.min(variant.getMaxDays(), 365)) : assignmentMaxDays;
+    }
+
+    private int maxPerDayOf(CouncilPlanningRequest.Variant variant) {
+        return variant.getMaxCouncilsPerLecturerPerDay() != null
+                ? Math.max(1, variant.getMaxCouncilsPerLecturerPerDay())
+                : maxCouncilsPerLecturerPerDay;
+    }
+}
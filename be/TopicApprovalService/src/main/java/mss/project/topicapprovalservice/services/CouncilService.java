@@ -1,9 +1,8 @@
 package mss.project.topicapprovalservice.services;
 
-import jakarta.transaction.Transactional;
 import mss.project.topicapprovalservice.dtos.requests.CouncilCreateRequest;
+import mss.project.topicapprovalservice.dtos.requests.CouncilPlanningRequest;
 import mss.project.topicapprovalservice.dtos.responses.*;
-import mss.project.topicapprovalservice.enums.Milestone;
 import mss.project.topicapprovalservice.enums.Role;
 import mss.project.topicapprovalservice.enums.Status;
 import mss.project.topicapprovalservice.enums.TopicStatus;
@@ -14,14 +13,12 @@ import mss.project.topicapprovalservice.pojos.*;
 import mss.project.topicapprovalservice.repositories.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
 
 @Service
 public class CouncilService implements ICouncilService {
@@ -36,187 +33,32 @@ public class CouncilService implements ICouncilService {
     private TopicsRepository topicsRepository;
 
     @Autowired
-    private AccountService accountFeignClient;
+    private CouncilTopicEvaluationRepository evaluationRepository;
 
     @Autowired
-    private AccountTopicsRepository accountTopicsRepository;
+    private AccountResolver accountResolver;
 
     @Autowired
-    private ProgressReviewCouncilRepository progressReviewCouncilRepository;
+    private CouncilPlanningService councilPlanningService;
 
     @Autowired
-    private CouncilTopicEvaluationRepository evaluationRepository;
-
-    private static final Random RANDOM = new Random();
-
-
-    private List<AccountDTO> getAvailableLecturers(Set<Long> assignedLecturerIds, List<Long> topicListId) {
-        // Lấy tất cả giảng viên
-        List<AccountDTO> allLecturers = accountFeignClient.getAllAccounts();
+    private S3Service s3Service;
 
-        // Lấy danh sách giảng viên liên quan các topic
-        Set<Long> topicRelatedSet = new HashSet<>();
-        for (Long topicId : topicListId) {
-            Topics topic = topicsRepository.findById(topicId)
-                    .orElseThrow(() -> new AppException(ErrorCode.TOPIC_NOT_FOUND));
 
-            List<Long> topicRelatedLecturers = accountTopicsRepository
-                    .findByTopics_Id(topicId)
-                    .stream()
-                    .map(AccountTopics::getAccountId)
-                    .toList();
-            topicRelatedSet.addAll(topicRelatedLecturers);
-        }
-
-        // Lọc ra giảng viên còn trống trong ngày và không liên quan topic
-        return allLecturers.stream()
-                .filter(acc -> !assignedLecturerIds.contains(acc.getId()))
-                .filter(acc -> !topicRelatedSet.contains(acc.getId()))
-                .toList();
+    @Override
+    public CouncilAssignmentResponse addCouncil(CouncilCreateRequest councilCreateRequest) {
+        return councilPlanningService.assignAndPersist(councilCreateRequest);
     }
 
-    @Transactional
     @Override
-    public List<CouncilResponse> addCouncil(CouncilCreateRequest councilCreateRequest) {
-        List<Long> allTopicIds = councilCreateRequest.getTopicId();
-        List<CouncilResponse> createdCouncils = new ArrayList<>();
-
-        // Biến quản lý giảng viên còn trống trong ngày
-        Set<Long> assignedLecturerIdsInDay = new HashSet<>();
-        LocalDate currentDefenseDate = null;
-
-        // Chia danh sách topicId thành các nhóm 6
-        for (int i = 0; i < allTopicIds.size(); i += 6) {
-            List<Long> groupIds = allTopicIds.subList(i, Math.min(i + 6, allTopicIds.size()));
-
-            // Lấy topic từ DB
-            List<Topics> topicList = new ArrayList<>();
-            for (Long topicId : groupIds) {
-                Topics topic = topicsRepository.findById(topicId)
-                        .orElseThrow(() -> new AppException(ErrorCode.TOPIC_NOT_FOUND));
-                if (topic.getCouncil() != null) {
-                    throw new AppException(ErrorCode.TOPIC_ALREADY_ASSIGNED_TO_COUNCIL);
-                }
-                topicList.add(topic);
-            }
-
-            // Xác định ngày defense
-            if (currentDefenseDate == null) {
-                LocalDateTime earliestReview = topicList.stream()
-                        .map(topic -> {
-                            ProgressReviewCouncils reviewCouncil = progressReviewCouncilRepository
-                                    .findByTopicAndMilestone(topic, Milestone.WEEK_12);
-                            if (reviewCouncil == null) {
-                                throw new AppException(ErrorCode.REVIEW_COUNCIL_NOT_FOUND);
-                            }
-                            if (!reviewCouncil.getStatus().equals(Status.COMPLETED)) {
-                                throw new AppException(ErrorCode.REVIEW_COUNCIL_NOT_COMPLETED);
-                            }
-                            return reviewCouncil.getReviewDate();
-                        })
-                        .min(LocalDateTime::compareTo)
-                        .orElseThrow(() -> new AppException(ErrorCode.REVIEW_COUNCIL_NOT_FOUND));
-                currentDefenseDate = earliestReview.toLocalDate().plusWeeks(3);
-            }
-
-            // Lấy giảng viên còn trống trong ngày
-            List<AccountDTO> availableLecturers = getAvailableLecturers(assignedLecturerIdsInDay, groupIds);
-
-            // Nếu không đủ 4 giảng viên, sang ngày kế tiếp
-            if (availableLecturers.size() < 4) {
-                currentDefenseDate = currentDefenseDate.plusDays(1);
-                assignedLecturerIdsInDay.clear();
-                availableLecturers = getAvailableLecturers(assignedLecturerIdsInDay, groupIds);
-            }
-
-            // Chọn ngẫu nhiên 4 giảng viên
-            List<AccountDTO> modifiableList = new ArrayList<>(availableLecturers);
-            Collections.shuffle(modifiableList);
-            List<AccountDTO> selectedMembers = modifiableList.subList(0, 4);
-
-            // Gán giảng viên đã chọn vào ngày
-            selectedMembers.forEach(acc -> assignedLecturerIdsInDay.add(acc.getId()));
-
-            // Tạo Council mới
-            Council council = new Council();
-            council.setCouncilName("Hội Đồng Chấm ngày " + currentDefenseDate);
-            council.setSemester("Học kỳ " + councilCreateRequest.getSemester());
-            council.setStatus(Status.PLANNED);
-            council.setRetakeDefenseDate(null);
-            council.setDefenseDate(currentDefenseDate);
-            councilRepository.save(council);
-
-            // Gán thời gian defense cho từng topic
-            LocalTime startTime = LocalTime.of(8, 0);
-            int totalMinutesPerTopic = 90 + 15;
-            for (int j = 0; j < topicList.size(); j++) {
-                Topics topic = topicList.get(j);
-                LocalTime topicTime = startTime.plusMinutes((long) j * totalMinutesPerTopic);
-                if (j >= 3) topicTime = topicTime.plusMinutes(45);
-                topic.setCouncil(council);
-                topic.setDefenseTime(topicTime);
-                topic.setStatus(TopicStatus.ASSIGNED_TO_COUNCIL);
-            }
-            topicsRepository.saveAll(topicList);
-
-            // Tạo hội đồng thành viên
-            List<CouncilMember> members = new ArrayList<>();
-            for (int j = 0; j < selectedMembers.size(); j++) {
-                AccountDTO acc = selectedMembers.get(j);
-                CouncilMember member = new CouncilMember();
-                member.setAccountId(acc.getId());
-                member.setCouncil(council);
-                member.setRole(switch (j) {
-                    case 0 -> Role.CHAIRMAN;
-                    case 1 -> Role.SECRETARY;
-                    default -> Role.MEMBER;
-                });
-                members.add(member);
-            }
-            councilMemberRepository.saveAll(members);
-            council.setCouncilMembers(members);
-
-            // Build response
-            List<CouncilMemberResponse> memberResponses = members.stream()
-                    .map(member -> {
-                        AccountDTO acc = accountFeignClient.getAccountById(member.getAccountId());
-                        return CouncilMemberResponse.builder()
-                                .id(member.getId())
-                                .accountId(acc.getId())
-                                .fullName(acc.getName())
-                                .email(acc.getEmail())
-                                .role(member.getRole())
-                                .phoneNumber(acc.getPhoneNumber())
-                                .build();
-                    })
-                    .toList();
-
-            List<TopicsDTOResponse> topicResponses = topicList.stream()
-                    .map(topic -> TopicsDTOResponse.builder()
-                            .id(topic.getId())
-                            .title(topic.getTitle())
-                            .description(topic.getDescription())
-                            .build())
-                    .toList();
-
-            CouncilResponse response = CouncilResponse.builder()
-                    .id(council.getId())
-                    .councilName(council.getCouncilName())
-                    .semester(council.getSemester())
-                    .date(council.getDefenseDate().toString())
-                    .retakeDate(council.getRetakeDefenseDate() != null ? council.getRetakeDefenseDate().toString() : null)
-                    .status(council.getStatus())
-                    .topic(topicResponses)
-                    .councilMembers(memberResponses)
-                    .build();
-
-            createdCouncils.add(response);
-        }
-
-        return createdCouncils;
+    public List<CouncilPlanResponse> simulateCouncils(CouncilPlanningRequest councilPlanningRequest) {
+        return councilPlanningService.simulate(councilPlanningRequest);
     }
 
-
+    @Override
+    public CouncilAssignmentResponse commitCouncilPlan(String planId) {
+        return councilPlanningService.commitPlan(planId);
+    }
 
     @Override
     public CouncilResponse updateCouncil(int id, CouncilCreateRequest councilCreateRequest) {
@@ -244,8 +86,10 @@ public class CouncilService implements ICouncilService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public  List<CouncilSummaryResponse> getCouncilResponseByAccountId(Long accountId) {
-        List<CouncilMember> members = councilMemberRepository.findByAccountId(accountId);
+        // Member, council và topics được lấy trong một câu SQL (tránh lazy load từng council)
+        List<CouncilMember> members = councilMemberRepository.findWithCouncilAndTopicsByAccountId(accountId);
         // Trả về mảng rỗng thay vì throw exception khi không có members
         // Đây là trường hợp bình thường (user chưa được phân công vào hội đồng)
         if(members.isEmpty()){
@@ -329,20 +173,80 @@ public class CouncilService implements ICouncilService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<TopicFileUrlResponse> getCouncilFileUrls(Long councilId) {
+        if (!councilRepository.existsById(councilId)) {
+            throw new AppException(ErrorCode.COUNCIL_NOT_FOUND);
+        }
+        List<Topics> topics = topicsRepository.findByCouncil_IdOrderByDefenseTimeAscIdAsc(councilId);
+
+        // Ký tất cả file của hội đồng trong một lượt, URL đã ký được lấy từ cache nếu còn hạn
+        Map<Long, String> fileNames = new LinkedHashMap<>();
+        for (Topics topic : topics) {
+            String fileName = s3Service.extractFileNameFromUrl(topic.getFilePathUrl());
+            if (fileName != null && !fileName.isEmpty()) {
+                fileNames.put(topic.getId(), fileName);
+            }
+        }
+        Map<String, String> urls = s3Service.getFileUrls(new LinkedHashSet<>(fileNames.values()));
+
+        return topics.stream()
+                .filter(topic -> fileNames.containsKey(topic.getId()))
+                .map(topic -> TopicFileUrlResponse.builder()
+                        .topicId(topic.getId())
+                        .title(topic.getTitle())
+                        .fileName(fileNames.get(topic.getId()))
+                        .fileUrl(urls.get(fileNames.get(topic.getId())))
+                        .build())
+                .toList();
+    }
+
     @Override
     public Council getCouncilById(int id) {
         return null;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CouncilResponse> getAllCouncils() {
-        List<Council> councilList =councilRepository.findAll();
+        List<Council> councilList = councilRepository.findAll();
+
+        // Gom tất cả topic của các hội đồng và load evaluation trong một query
+        List<Long> topicIds = councilList.stream()
+                .flatMap(council -> council.getTopics().stream())
+                .map(Topics::getId)
+                .toList();
+        Map<Long, List<CouncilTopicEvaluation>> evaluationsByTopic = topicIds.isEmpty()
+                ? Map.of()
+                : evaluationRepository.findAllWithMemberByTopicIdIn(topicIds).stream()
+                        .collect(Collectors.groupingBy(e -> e.getTopic().getId()));
+
+        // Thu thập mọi account id cần dùng (thành viên, người tạo topic, người viết note)
+        // rồi resolve bằng một lần gọi batch tới AccountService
+        Set<Long> accountIds = new HashSet<>();
+        for (Council council : councilList) {
+            council.getCouncilMembers().forEach(member -> accountIds.add(member.getAccountId()));
+            for (Topics topic : council.getTopics()) {
+                Long creatorId = AccountResolver.parseAccountId(topic.getCreatedBy());
+                if (creatorId != null) {
+                    accountIds.add(creatorId);
+                }
+            }
+        }
+        evaluationsByTopic.values().forEach(evaluations -> evaluations.forEach(evaluation -> {
+            if (evaluation.getNote() != null && !evaluation.getNote().trim().isEmpty()) {
+                accountIds.add(evaluation.getCouncilMember().getAccountId());
+            }
+        }));
+        accountResolver.prefetch(accountIds);
+
         List <CouncilResponse> councilResponses = new ArrayList<>();
         for(Council council : councilList){
             List<CouncilMember> members = council.getCouncilMembers();
             List<CouncilMemberResponse> memberResponses = new ArrayList<>();
             for(CouncilMember member : members){
-                AccountDTO acc = accountFeignClient.getAccountById(member.getAccountId());
+                AccountDTO acc = accountResolver.get(member.getAccountId());
                 if(acc == null){
                     throw new AppException(ErrorCode.ACCOUNT_NOT_FOUND);
                 }
@@ -359,36 +263,33 @@ public class CouncilService implements ICouncilService {
             List<Topics> topics = council.getTopics();
             List<TopicsDTOResponse> topicResponses = new ArrayList<>();
             for(Topics topic : topics){
-                Topics checkTopic= topicsRepository.findById(topic.getId())
-                        .orElseThrow(() -> new AppException(ErrorCode.TOPIC_NOT_FOUND));
-                AccountDTO creator = accountFeignClient.getAccountById(Long.valueOf(checkTopic.getCreatedBy()));
+                AccountDTO creator = accountResolver.get(AccountResolver.parseAccountId(topic.getCreatedBy()));
 
-                List<CouncilTopicEvaluation> evaluations = evaluationRepository.findAllByTopic(checkTopic);
+                List<CouncilTopicEvaluation> evaluations = evaluationsByTopic.getOrDefault(topic.getId(), List.of());
                 List<NoteResponse> notes = new ArrayList<>();
                 for(CouncilTopicEvaluation evaluation : evaluations){
                     if(evaluation.getNote() != null && !evaluation.getNote().trim().isEmpty()) {
                         CouncilMember councilMember = evaluation.getCouncilMember();
-                        AccountDTO memberAcc = accountFeignClient.getAccountById(councilMember.getAccountId());
+                        AccountDTO memberAcc = accountResolver.get(councilMember.getAccountId());
                         NoteResponse noteResponse = NoteResponse.builder()
                                 .Note(evaluation.getNote())
-                                .accountName(memberAcc.getName())
+                                .accountName(memberAcc != null ? memberAcc.getName() : null)
                                 .build();
                         notes.add(noteResponse);
                     }
                 }
                 TopicsDTOResponse topicResponse = TopicsDTOResponse.builder()
-                        .id(checkTopic.getId())
-                        .title(checkTopic.getTitle())
-                        .description(checkTopic.getDescription())
-                        .filePathUrl(checkTopic.getFilePathUrl())
-                        .defenseTime(checkTopic.getDefenseTime())
-                        .status(checkTopic.getStatus().toString())
+                        .id(topic.getId())
+                        .title(topic.getTitle())
+                        .description(topic.getDescription())
+                        .filePathUrl(topic.getFilePathUrl())
+                        .defenseTime(topic.getDefenseTime())
+                        .status(topic.getStatus().toString())
                         .notes(notes)
-                        .createdBy(creator.getName())
+                        .createdBy(creator != null ? creator.getName() : null)
                         .build();
                 topicResponses.add(topicResponse);
             }
-            council.setCouncilMembers(members);
             CouncilResponse councilResponse = CouncilResponse.builder()
                     .id(council.getId())
                     .councilName(council.getCouncilName())
@@ -0,0 +1,239 @@
+package mss.project.topicapprovalservice.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import mss.project.topicapprovalservice.dtos.responses.AccountDTO;
+import mss.project.topicapprovalservice.enums.OutboxStatus;
+import mss.project.topicapprovalservice.pojos.EmailOutbox;
+import mss.project.topicapprovalservice.repositories.EmailOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the email outbox in the background: claims due entries in a short transaction,
+ * sends them without holding a DB connection, then records the outcome. Failed sends are
+ * retried with exponential backoff and moved to DEAD after {@code outbox.email.max-attempts}.
+ * Delivery is at-least-once: an entry whose claim lease expires before its outcome is
+ * recorded (e.g. the instance died mid-send) is picked up again.
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+
+    private final AccountService accountService;
+
+    private final RemoteFanOut remoteFanOut;
+
+    private final ServiceTokenProvider serviceTokenProvider;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter sent;
+
+    private final Counter retried;
+
+    private final Counter deadLettered;
+
+    private final Timer deliveryLag;
+
+    private final AtomicLong pending = new AtomicLong();
+
+    @Value("${outbox.email.enabled:true}")
+    private boolean enabled;
+
+    @Value("${outbox.email.batch-size:50}")
+    private int batchSize;
+
+    @Value("${outbox.email.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${outbox.email.initial-backoff:30s}")
+    private Duration initialBackoff;
+
+    @Value("${outbox.email.max-backoff:1h}")
+    private Duration maxBackoff;
+
+    // Thời gian giữ entry sau khi claim; hết hạn mà chưa ghi kết quả thì dispatcher khác gửi lại
+    @Value("${outbox.email.claim-lease:5m}")
+    private Duration claimLease;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository,
+                                 AccountService accountService,
+                                 RemoteFanOut remoteFanOut,
+                                 ServiceTokenProvider serviceTokenProvider,
+                                 TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.accountService = accountService;
+        this.remoteFanOut = remoteFanOut;
+        this.serviceTokenProvider = serviceTokenProvider;
+        this.transactionTemplate = transactionTemplate;
+        this.sent = deliveries(meterRegistry, "sent");
+        this.retried = deliveries(meterRegistry, "retry");
+        this.deadLettered = deliveries(meterRegistry, "dead");
+        this.deliveryLag = Timer.builder("email.outbox.delivery.lag")
+                .description("Time from enqueue to successful send")
+                .register(meterRegistry);
+        meterRegistry.gauge("email.outbox.pending", pending);
+    }
+
+    private static Counter deliveries(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("email.outbox.deliveries")
+                .description("Outbox delivery attempts by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.email.poll-interval-ms:2000}",
+            initialDelayString = "${outbox.email.poll-interval-ms:2000}")
+    public void dispatch() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<EmailOutbox> batch;
+            do {
+                batch = claim();
+                if (!batch.isEmpty()) {
+                    record(batch, send(batch));
+                }
+            } while (batch.size() == batchSize);
+            pending.set(emailOutboxRepository.countByStatus(OutboxStatus.PENDING));
+        } catch (Exception e) {
+            // Lỗi DB hoặc lỗi không lường trước: để lần poll sau thử lại
+            logger.error("Email outbox dispatch failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private List<EmailOutbox> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutbox> due = emailOutboxRepository.findDueForUpdate(
+                    OutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+            for (EmailOutbox entry : due) {
+                entry.setAttempts(entry.getAttempts() + 1);
+                entry.setNextAttemptAt(now.plus(claimLease));
+            }
+            return due;
+        });
+    }
+
+    private Map<Long, Outcome> send(List<EmailOutbox> batch) {
+        Map<Long, EmailOutbox> byId = new LinkedHashMap<>();
+        batch.forEach(entry -> byId.put(entry.getId(), entry));
+
+        SecurityContext previous = SecurityContextHolder.getContext();
+        SecurityContextHolder.setContext(serviceTokenProvider.serviceContext());
+        try {
+            Map<Long, AccountDTO> accounts;
+            try {
+                accounts = accountService.getAccountsByIds(
+                        batch.stream().map(EmailOutbox::getAccountId).distinct().toList());
+            } catch (Exception e) {
+                logger.warn("Could not resolve recipients for {} outbox entries: {}", batch.size(), e.getMessage());
+                Map<Long, Outcome> failed = new LinkedHashMap<>();
+                byId.keySet().forEach(id -> failed.put(id, Outcome.retry("Account lookup failed: " + e.getMessage())));
+                return failed;
+            }
+
+            return remoteFanOut.map(byId.keySet(), id -> {
+                EmailOutbox entry = byId.get(id);
+                AccountDTO account = accounts != null ? accounts.get(entry.getAccountId()) : null;
+                if (account == null || account.getEmail() == null || account.getEmail().isEmpty()) {
+                    return Outcome.dead("No email for accountId " + entry.getAccountId());
+                }
+                try {
+                    accountService.sendTopicApprovedEmail(account.getEmail(), entry.getTopicTitle(),
+                            entry.getTopicId().toString());
+                    return Outcome.SENT;
+                } catch (Exception e) {
+                    return Outcome.retry(e.getMessage());
+                }
+            }, RemoteFanOut.Policy.PARTIAL);
+        } finally {
+            SecurityContextHolder.setContext(previous);
+        }
+    }
+
+    private void record(List<EmailOutbox> batch, Map<Long, Outcome> outcomes) {
+        Map<Long, Integer> claimedAttempts = new LinkedHashMap<>();
+        batch.forEach(entry -> claimedAttempts.put(entry.getId(), entry.getAttempts()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (EmailOutbox entry : emailOutboxRepository.findAllById(claimedAttempts.keySet())) {
+                if (entry.getStatus() != OutboxStatus.PENDING
+                        || entry.getAttempts() != claimedAttempts.get(entry.getId())) {
+                    // Lease đã hết và entry đã được dispatcher khác claim lại
+                    continue;
+                }
+                // Không có kết quả nghĩa là call bị timeout
+                Outcome outcome = outcomes.getOrDefault(entry.getId(), Outcome.retry("Timed out"));
+                if (outcome.sent()) {
+                    entry.setStatus(OutboxStatus.SENT);
+                    entry.setSentAt(now);
+                    entry.setLastError(null);
+                    sent.increment();
+                    deliveryLag.record(Duration.between(entry.getCreatedAt(), now));
+                } else if (!outcome.retryable() || entry.getAttempts() >= maxAttempts) {
+                    entry.setStatus(OutboxStatus.DEAD);
+                    entry.setLastError(truncate(outcome.error()));
+                    deadLettered.increment();
+                    logger.error("Approval email for topic {} to accountId {} dead-lettered after {} attempts: {}",
+                            entry.getTopicId(), entry.getAccountId(), entry.getAttempts(), outcome.error());
+                } else {
+                    entry.setNextAttemptAt(now.plus(backoff(entry.getAttempts())));
+                    entry.setLastError(truncate(outcome.error()));
+                    retried.increment();
+                }
+            }
+        });
+    }
+
+    private Duration backoff(int attempts) {
+        long factor = 1L << Math.min(attempts - 1, 20);
+        long millis = Math.min(initialBackoff.toMillis() * factor, maxBackoff.toMillis());
+        // ±20% jitter để các entry lỗi cùng lúc không retry cùng lúc
+        return Duration.ofMillis((long) (millis * ThreadLocalRandom.current().nextDouble(0.8, 1.2)));
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    private record Outcome(boolean sent, boolean retryable, String error) {
+        static final Outcome SENT = new Outcome(true, false, null);
+
+        static Outcome retry(String error) {
+            return new Outcome(false, true, error);
+        }
+
+        static Outcome dead(String error) {
+            return new Outcome(false, false, error);
+        }
+    }
+}
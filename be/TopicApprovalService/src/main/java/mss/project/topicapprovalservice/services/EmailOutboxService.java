@@ -0,0 +1,67 @@
+package mss.project.topicapprovalservice.services;
+
+import mss.project.topicapprovalservice.enums.OutboxStatus;
+import mss.project.topicapprovalservice.pojos.AccountTopics;
+import mss.project.topicapprovalservice.pojos.EmailOutbox;
+import mss.project.topicapprovalservice.pojos.Topics;
+import mss.project.topicapprovalservice.repositories.AccountTopicsRepository;
+import mss.project.topicapprovalservice.repositories.EmailOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class EmailOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxService.class);
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private AccountTopicsRepository accountTopicsRepository;
+
+    /**
+     * Queues one topic-approved email per topic member. Must run inside the approval
+     * transaction so the emails exist if and only if the approval commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueTopicApproved(Topics topic) {
+        Set<Long> accountIds = new LinkedHashSet<>();
+        for (AccountTopics accountTopic : accountTopicsRepository.findByTopicsId(topic.getId())) {
+            if (accountTopic.getAccountId() == null) {
+                logger.warn("AccountId is null for AccountTopic {}, skipping", accountTopic.getId());
+                continue;
+            }
+            accountIds.add(accountTopic.getAccountId());
+        }
+        if (accountIds.isEmpty()) {
+            logger.warn("No members found for topic {}, skipping email notification", topic.getId());
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        String topicTitle = topic.getTitle() != null ? topic.getTitle() : "Đề tài của bạn";
+        List<EmailOutbox> entries = accountIds.stream()
+                .map(accountId -> EmailOutbox.builder()
+                        .accountId(accountId)
+                        .topicId(topic.getId())
+                        .topicTitle(topicTitle)
+                        .status(OutboxStatus.PENDING)
+                        .attempts(0)
+                        .nextAttemptAt(now)
+                        .createdAt(now)
+                        .build())
+                .toList();
+        emailOutboxRepository.saveAll(entries);
+        logger.info("Queued {} approval emails for topic {}", entries.size(), topic.getId());
+    }
+}
@@ -1,8 +1,12 @@
 package mss.project.topicapprovalservice.services;
 
 import mss.project.topicapprovalservice.dtos.requests.CouncilCreateRequest;
+import mss.project.topicapprovalservice.dtos.requests.CouncilPlanningRequest;
+import mss.project.topicapprovalservice.dtos.responses.CouncilAssignmentResponse;
+import mss.project.topicapprovalservice.dtos.responses.CouncilPlanResponse;
 import mss.project.topicapprovalservice.dtos.responses.CouncilResponse;
 import mss.project.topicapprovalservice.dtos.responses.CouncilSummaryResponse;
+import mss.project.topicapprovalservice.dtos.responses.TopicFileUrlResponse;
 import mss.project.topicapprovalservice.pojos.Council;
 
 import java.util.List;
@@ -11,11 +15,14 @@ public interface ICouncilService {
 
     public Council getCouncilById(int id);
     public List<CouncilResponse> getAllCouncils();
-    public List<CouncilResponse> addCouncil(CouncilCreateRequest councilCreateRequest);
+    public CouncilAssignmentResponse addCouncil(CouncilCreateRequest councilCreateRequest);
+    List<CouncilPlanResponse> simulateCouncils(CouncilPlanningRequest councilPlanningRequest);
+    CouncilAssignmentResponse commitCouncilPlan(String planId);
     public CouncilResponse updateCouncil(int id, CouncilCreateRequest councilCreateRequest);
     public void deleteCouncil(int id);
     CouncilResponse updateCouncilStatus(int id, String status);
     List<CouncilSummaryResponse> getCouncilResponseByAccountId(Long accountId);
     void updateRetakeDateForFailedTopic(Long councilId);
+    List<TopicFileUrlResponse> getCouncilFileUrls(Long councilId);
 
 }
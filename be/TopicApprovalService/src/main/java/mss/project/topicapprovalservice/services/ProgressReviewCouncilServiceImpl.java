@@ -96,10 +96,9 @@ public class ProgressReviewCouncilServiceImpl implements IProgressReviewCouncilS
         }
         progressReviewCouncilRepository.save(council);
 
-        memberIDs.forEach(accountId -> {
-            ReviewCouncilMembers member = new ReviewCouncilMembers(council, accountId, Status.NOT_DECIDED);
-            reviewCouncilMembersRepository.save(member);
-        });
+        reviewCouncilMembersRepository.saveAll(memberIDs.stream()
+                .map(accountId -> new ReviewCouncilMembers(council, accountId, Status.NOT_DECIDED))
+                .toList());
 
 
         return CreateReviewCouncilResponse.builder()
@@ -119,28 +118,12 @@ public class ProgressReviewCouncilServiceImpl implements IProgressReviewCouncilS
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<GetReviewCouncilResponse> getAllReviewCouncil(Long topicID) {
-        Optional<Topics> topicOpt = topicsRepository.findById(topicID);
-        if (topicOpt.isEmpty()) {
+        if (!topicsRepository.existsById(topicID)) {
             throw new AppException(ErrorCode.TOPICS_NOT_FOUND);
         }
-        List<ProgressReviewCouncils> councilsList = progressReviewCouncilRepository.findAllByTopic(topicOpt.get());
-        return councilsList.stream().map(council ->
-                        GetReviewCouncilResponse.builder()
-                                .councilID(council.getCouncilID())
-                                .councilName(council.getCouncilName())
-                                .topicID(council.getTopic().getId())
-                                .topicTitle(council.getTopic().getTitle())
-                                .milestone(council.getMilestone())
-                                .reviewDate(council.getReviewDate())
-                                .status(council.getStatus().getValue())
-                                .result(council.getResult().getValue())
-                                .createdAt(council.getCreatedAt())
-                                .reviewFormat(council.getReviewFormat())
-                                .meetingLink(council.getMeetingLink())
-                                .roomNumber(council.getRoomNumber())
-                                .build()
-        ).toList();
+        return progressReviewCouncilRepository.findDtosByTopicId(topicID);
     }
 
 
@@ -164,34 +147,18 @@ public class ProgressReviewCouncilServiceImpl implements IProgressReviewCouncilS
 
 
     @Override
+    @Transactional(readOnly = true)
     public List<GetReviewCouncilResponse> getAllReviewCouncilForCalendar(Long accountID) {
-        final List<ProgressReviewCouncils> councilsList = new ArrayList<>();
         AccountDTO accountDTO = accountService.getAccountById(accountID);
         if(accountDTO.getRole().equals("HEADOFDEPARTMENT") || accountDTO.getRole().equals("ADMIN")) {
-            councilsList.addAll(progressReviewCouncilRepository.findAll());
+            List<GetReviewCouncilResponse> councilsList = progressReviewCouncilRepository.findAllDtos();
             if(councilsList.isEmpty()) {
                 throw new AppException(ErrorCode.REVIEW_COUNCIL_NOT_FOUND);
             }
-        } else {
-            List<ReviewCouncilMembers> joinedList = reviewCouncilMembersRepository.findAllByAccountID(accountID);
-            joinedList.forEach(m -> {
-                councilsList.add(m.getProgressReviewCouncil());
-            });
+            return councilsList;
         }
-        return councilsList.stream().map(council -> GetReviewCouncilResponse.builder()
-                .councilID(council.getCouncilID())
-                .councilName(council.getCouncilName())
-                .topicID(council.getTopic().getId())
-                .topicTitle(council.getTopic().getTitle())
-                .milestone(council.getMilestone())
-                .reviewDate(council.getReviewDate())
-                .status(council.getStatus().getValue())
-                .result(council.getResult().getValue())
-                .createdAt(council.getCreatedAt())
-                .reviewFormat(council.getReviewFormat())
-                .meetingLink(council.getMeetingLink())
-                .roomNumber(council.getRoomNumber())
-                .build()).toList();
+        // Hội đồng và đề tài lấy bằng một câu join thay vì nạp lazy từng thành viên
+        return progressReviewCouncilRepository.findDtosByMemberAccountId(accountID);
     }
 
     @Override
@@ -0,0 +1,147 @@
+package mss.project.topicapprovalservice.services;
+
+import mss.project.topicapprovalservice.exceptions.AppException;
+import mss.project.topicapprovalservice.exceptions.ErrorCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs independent remote calls concurrently on the bounded "remoteFanOutExecutor", so an
+ * endpoint waits for its slowest call instead of the sum of all calls.
+ * Every call gets its own timeout, measured from submission.
+ */
+@Component
+public class RemoteFanOut {
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteFanOut.class);
+
+    public enum Policy {
+        /** The first failure or timeout cancels the remaining calls and is rethrown. */
+        FAIL_FAST,
+        /** Failed or timed-out calls are logged and left out of the result. */
+        PARTIAL
+    }
+
+    @Autowired
+    @Qualifier("remoteFanOutExecutor")
+    private AsyncTaskExecutor executor;
+
+    @Value("${remote.fan-out.call-timeout:5s}")
+    private Duration defaultTimeout;
+
+    public <K, V> Map<K, V> map(Collection<K> keys, Function<K, V> call, Policy policy) {
+        return map(keys, call, policy, defaultTimeout);
+    }
+
+    /**
+     * Calls {@code call} once per distinct key.
+     *
+     * @return results in key order; keys whose call returned null are present with a null value,
+     *         keys whose call failed are absent under {@link Policy#PARTIAL}
+     */
+    public <K, V> Map<K, V> map(Collection<K> keys, Function<K, V> call, Policy policy, Duration timeout) {
+        Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+        if (keys.size() == 1) {
+            // Một call thì chạy luôn trên thread hiện tại, không cần chuyển thread
+            K key = keys.iterator().next();
+            futures.put(key, runInline(key, call));
+        } else {
+            for (K key : keys) {
+                futures.computeIfAbsent(key, k -> CompletableFuture
+                        .supplyAsync(() -> call.apply(k), executor)
+                        .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS));
+            }
+        }
+
+        if (policy == Policy.FAIL_FAST) {
+            awaitFailFast(futures.values());
+        } else {
+            CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                    .exceptionally(ex -> null)
+                    .join();
+        }
+
+        Map<K, V> results = new LinkedHashMap<>();
+        futures.forEach((key, future) -> {
+            try {
+                results.put(key, future.join());
+            } catch (CompletionException e) {
+                Throwable cause = unwrap(e);
+                logger.warn("Remote call for {} failed, leaving it out of the result: {}", key, cause.toString());
+            }
+        });
+        return results;
+    }
+
+    /**
+     * Runs {@code call} for every item concurrently, for calls that return nothing (e.g. sending mail).
+     */
+    public <T> void forEach(Collection<T> items, Consumer<T> call, Policy policy) {
+        map(items, item -> {
+            call.accept(item);
+            return Boolean.TRUE;
+        }, policy, defaultTimeout);
+    }
+
+    private static void awaitFailFast(Collection<? extends CompletableFuture<?>> futures) {
+        CompletableFuture<Void> all = CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+        CompletableFuture<Object> firstFailure = new CompletableFuture<>();
+        futures.forEach(future -> future.whenComplete((value, ex) -> {
+            if (ex != null) {
+                firstFailure.completeExceptionally(ex);
+            }
+        }));
+        try {
+            CompletableFuture.anyOf(all, firstFailure).join();
+        } catch (CompletionException e) {
+            // Huỷ các call còn trong hàng đợi; call đang chạy sẽ kết thúc theo timeout của Feign
+            futures.forEach(future -> future.cancel(false));
+            throw translate(unwrap(e));
+        }
+    }
+
+    private static <K, V> CompletableFuture<V> runInline(K key, Function<K, V> call) {
+        try {
+            return CompletableFuture.completedFuture(call.apply(key));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        Throwable cause = ex;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static RuntimeException translate(Throwable cause) {
+        if (cause instanceof TimeoutException) {
+            return new AppException(ErrorCode.REMOTE_CALL_TIMEOUT);
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new AppException(ErrorCode.ACCOUNT_SERVICE_ERROR);
+    }
+}
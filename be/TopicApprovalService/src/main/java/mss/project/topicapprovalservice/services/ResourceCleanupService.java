@@ -0,0 +1,70 @@
+package mss.project.topicapprovalservice.services;
+
+import mss.project.topicapprovalservice.enums.CleanupStatus;
+import mss.project.topicapprovalservice.enums.CleanupTarget;
+import mss.project.topicapprovalservice.pojos.ResourceCleanupJob;
+import mss.project.topicapprovalservice.repositories.ResourceCleanupJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Records external resources to delete. Jobs are written in the caller's transaction, so they
+ * only exist if the change that orphaned the resource commits; ResourceCleanupWorker deletes
+ * them in the background.
+ */
+@Service
+public class ResourceCleanupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceCleanupService.class);
+
+    @Autowired
+    private ResourceCleanupJobRepository resourceCleanupJobRepository;
+
+    @Autowired
+    private S3Service s3Service;
+
+    /**
+     * Schedules deletion of the S3 object behind {@code fileUrl}; does nothing for an empty URL.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteS3FileLater(String fileUrl) {
+        if (fileUrl == null || fileUrl.isEmpty()) {
+            return;
+        }
+        String key = s3Service.extractFileNameFromUrl(fileUrl);
+        if (key == null || key.isEmpty()) {
+            logger.warn("Could not extract file name from filePathUrl: {}", fileUrl);
+            return;
+        }
+        enqueue(CleanupTarget.S3_OBJECT, List.of(key));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteQdrantTopicLater(Long topicId) {
+        enqueue(CleanupTarget.QDRANT_TOPIC, List.of(topicId.toString()));
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void enqueue(CleanupTarget target, Collection<String> keys) {
+        LocalDateTime now = LocalDateTime.now();
+        resourceCleanupJobRepository.saveAll(keys.stream()
+                .map(key -> ResourceCleanupJob.builder()
+                        .target(target)
+                        .resourceKey(key)
+                        .status(CleanupStatus.PENDING)
+                        .attempts(0)
+                        .nextAttemptAt(now)
+                        .createdAt(now)
+                        .build())
+                .toList());
+        logger.info("Queued {} {} cleanup jobs", keys.size(), target);
+    }
+}
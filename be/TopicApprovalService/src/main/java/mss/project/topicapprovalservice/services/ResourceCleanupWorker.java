@@ -0,0 +1,351 @@
+package mss.project.topicapprovalservice.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import mss.project.topicapprovalservice.enums.CleanupStatus;
+import mss.project.topicapprovalservice.enums.CleanupTarget;
+import mss.project.topicapprovalservice.pojos.ResourceCleanupJob;
+import mss.project.topicapprovalservice.repositories.ResourceCleanupJobRepository;
+import mss.project.topicapprovalservice.repositories.TopicsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background side of ResourceCleanupService. Claims due jobs in a short transaction, deletes
+ * S3 objects with DeleteObjects (up to 1000 keys per request) and Qdrant topics through the
+ * plagiarism service concurrently, then records the outcome with exponential backoff and
+ * dead-lettering after {@code cleanup.max-attempts}. A periodic reconciliation sweep looks for
+ * S3 objects that no topic references any more.
+ */
+@Component
+public class ResourceCleanupWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceCleanupWorker.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final ResourceCleanupJobRepository jobRepository;
+
+    private final ResourceCleanupService resourceCleanupService;
+
+    private final TopicsRepository topicsRepository;
+
+    private final S3Service s3Service;
+
+    private final PlagiarismService plagiarismService;
+
+    private final RemoteFanOut remoteFanOut;
+
+    private final ServiceTokenProvider serviceTokenProvider;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter done;
+
+    private final Counter retried;
+
+    private final Counter deadLettered;
+
+    private final AtomicLong pending = new AtomicLong();
+
+    private final AtomicLong orphans = new AtomicLong();
+
+    @Value("${cleanup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cleanup.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${cleanup.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${cleanup.initial-backoff:1m}")
+    private Duration initialBackoff;
+
+    @Value("${cleanup.max-backoff:6h}")
+    private Duration maxBackoff;
+
+    @Value("${cleanup.claim-lease:10m}")
+    private Duration claimLease;
+
+    @Value("${cleanup.reconcile.prefix:}")
+    private String reconcilePrefix;
+
+    // File mới upload chưa kịp gắn vào topic thì không tính là orphan
+    @Value("${cleanup.reconcile.min-age:24h}")
+    private Duration reconcileMinAge;
+
+    // Bucket dùng chung với plagiarism service: mặc định chỉ báo cáo, không tự xoá
+    @Value("${cleanup.reconcile.delete-orphans:false}")
+    private boolean deleteOrphans;
+
+    public ResourceCleanupWorker(ResourceCleanupJobRepository jobRepository,
+                                 ResourceCleanupService resourceCleanupService,
+                                 TopicsRepository topicsRepository,
+                                 S3Service s3Service,
+                                 PlagiarismService plagiarismService,
+                                 RemoteFanOut remoteFanOut,
+                                 ServiceTokenProvider serviceTokenProvider,
+                                 TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry) {
+        this.jobRepository = jobRepository;
+        this.resourceCleanupService = resourceCleanupService;
+        this.topicsRepository = topicsRepository;
+        this.s3Service = s3Service;
+        this.plagiarismService = plagiarismService;
+        this.remoteFanOut = remoteFanOut;
+        this.serviceTokenProvider = serviceTokenProvider;
+        this.transactionTemplate = transactionTemplate;
+        this.done = jobs(meterRegistry, "done");
+        this.retried = jobs(meterRegistry, "retry");
+        this.deadLettered = jobs(meterRegistry, "dead");
+        meterRegistry.gauge("resource.cleanup.pending", pending);
+        meterRegistry.gauge("resource.cleanup.orphans", orphans);
+    }
+
+    private static Counter jobs(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("resource.cleanup.jobs")
+                .description("Cleanup job attempts by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${cleanup.poll-interval-ms:10000}",
+            initialDelayString = "${cleanup.poll-interval-ms:10000}")
+    public void process() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<ResourceCleanupJob> batch;
+            do {
+                batch = claim();
+                if (!batch.isEmpty()) {
+                    record(batch, execute(batch));
+                }
+            } while (batch.size() == batchSize);
+            pending.set(jobRepository.countByStatus(CleanupStatus.PENDING));
+        } catch (Exception e) {
+            logger.error("Resource cleanup failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private List<ResourceCleanupJob> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<ResourceCleanupJob> due = jobRepository.findDueForUpdate(
+                    CleanupStatus.PENDING, now, PageRequest.of(0, batchSize));
+            for (ResourceCleanupJob job : due) {
+                job.setAttempts(job.getAttempts() + 1);
+                job.setNextAttemptAt(now.plus(claimLease));
+            }
+            return due;
+        });
+    }
+
+    /**
+     * @return error message per failed job id; jobs not in the map succeeded
+     */
+    private Map<Long, String> execute(List<ResourceCleanupJob> batch) {
+        Map<Long, String> errors = new HashMap<>();
+
+        Map<String, List<Long>> jobIdsByS3Key = new LinkedHashMap<>();
+        Map<Long, List<Long>> jobIdsByTopic = new LinkedHashMap<>();
+        for (ResourceCleanupJob job : batch) {
+            if (job.getTarget() == CleanupTarget.S3_OBJECT) {
+                jobIdsByS3Key.computeIfAbsent(job.getResourceKey(), k -> new ArrayList<>()).add(job.getId());
+            } else {
+                jobIdsByTopic.computeIfAbsent(Long.valueOf(job.getResourceKey()), k -> new ArrayList<>()).add(job.getId());
+            }
+        }
+
+        if (!jobIdsByS3Key.isEmpty()) {
+            try {
+                Map<Long, Integer> claimedAttempts = new HashMap<>();
+                batch.forEach(job -> claimedAttempts.put(job.getId(), job.getAttempts()));
+                transactionTemplate.executeWithoutResult(status ->
+                        deleteS3Objects(jobIdsByS3Key, claimedAttempts, errors));
+            } catch (Exception e) {
+                jobIdsByS3Key.values().forEach(ids -> ids.forEach(id -> errors.put(id, e.getMessage())));
+            }
+        }
+
+        if (!jobIdsByTopic.isEmpty()) {
+            // Plagiarism service chỉ có API xoá từng topic nên gọi song song thay vì một batch
+            SecurityContext previous = SecurityContextHolder.getContext();
+            SecurityContextHolder.setContext(serviceTokenProvider.serviceContext());
+            try {
+                Map<Long, String> results = remoteFanOut.map(jobIdsByTopic.keySet(), topicId -> {
+                    try {
+                        plagiarismService.deleteTopicFromQdrant(topicId);
+                        return "";
+                    } catch (Exception e) {
+                        return Objects.requireNonNullElse(e.getMessage(), e.getClass().getSimpleName());
+                    }
+                }, RemoteFanOut.Policy.PARTIAL);
+                jobIdsByTopic.forEach((topicId, ids) -> {
+                    String error = results.getOrDefault(topicId, "Timed out");
+                    if (!error.isEmpty()) {
+                        ids.forEach(id -> errors.put(id, error));
+                    }
+                });
+            } finally {
+                SecurityContextHolder.setContext(previous);
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Deletes the S3 objects while holding row locks on their jobs. S3Service cancels pending
+     * jobs of a key before reusing it (keys are content hashes), and that cancel waits for these
+     * locks: either the cancel lands first and the key is skipped here, or the object is gone
+     * before the uploader checks whether it exists and it uploads the content again.
+     */
+    private void deleteS3Objects(Map<String, List<Long>> jobIdsByS3Key, Map<Long, Integer> claimedAttempts,
+                                 Map<Long, String> errors) {
+        Set<Long> stillOurs = new HashSet<>();
+        for (ResourceCleanupJob job : jobRepository.lockAllById(claimedAttempts.keySet())) {
+            if (job.getStatus() == CleanupStatus.PENDING && job.getAttempts() == claimedAttempts.get(job.getId())) {
+                stillOurs.add(job.getId());
+            }
+        }
+        Map<String, List<Long>> live = new LinkedHashMap<>();
+        jobIdsByS3Key.forEach((key, ids) -> {
+            if (ids.stream().anyMatch(stillOurs::contains)) {
+                live.put(key, ids);
+            }
+        });
+        if (live.size() < jobIdsByS3Key.size()) {
+            logger.info("Skipping {} S3 keys whose cleanup was cancelled", jobIdsByS3Key.size() - live.size());
+        }
+        if (live.isEmpty()) {
+            return;
+        }
+
+        // Key đặt theo hash nội dung nên nhiều topic có thể dùng chung một file: bỏ qua key còn được tham chiếu
+        Map<String, String> keysByUrl = new HashMap<>();
+        live.keySet().forEach(key -> keysByUrl.put(s3Service.getObjectUrl(key), key));
+        Set<String> stillReferenced = new HashSet<>();
+        topicsRepository.findFilePathUrlsIn(keysByUrl.keySet())
+                .forEach(url -> stillReferenced.add(keysByUrl.get(url)));
+        if (!stillReferenced.isEmpty()) {
+            logger.info("Skipping {} S3 keys still referenced by a topic", stillReferenced.size());
+        }
+        List<String> keys = live.keySet().stream()
+                .filter(key -> !stillReferenced.contains(key))
+                .toList();
+        s3Service.deleteFiles(keys).forEach((key, error) ->
+                live.get(key).forEach(id -> errors.put(id, error)));
+    }
+
+    private void record(List<ResourceCleanupJob> batch, Map<Long, String> errors) {
+        Map<Long, Integer> claimedAttempts = new LinkedHashMap<>();
+        batch.forEach(job -> claimedAttempts.put(job.getId(), job.getAttempts()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (ResourceCleanupJob job : jobRepository.findAllById(claimedAttempts.keySet())) {
+                if (job.getStatus() != CleanupStatus.PENDING
+                        || job.getAttempts() != claimedAttempts.get(job.getId())) {
+                    continue;
+                }
+                String error = errors.get(job.getId());
+                if (error == null) {
+                    job.setStatus(CleanupStatus.DONE);
+                    job.setCompletedAt(now);
+                    job.setLastError(null);
+                    done.increment();
+                } else if (job.getAttempts() >= maxAttempts) {
+                    job.setStatus(CleanupStatus.DEAD);
+                    job.setLastError(truncate(error));
+                    deadLettered.increment();
+                    logger.error("Cleanup of {} {} dead-lettered after {} attempts: {}",
+                            job.getTarget(), job.getResourceKey(), job.getAttempts(), error);
+                } else {
+                    job.setNextAttemptAt(now.plus(backoff(job.getAttempts())));
+                    job.setLastError(truncate(error));
+                    retried.increment();
+                }
+            }
+        });
+    }
+
+    /**
+     * Finds S3 objects under {@code cleanup.reconcile.prefix} that are older than
+     * {@code min-age}, not referenced by any topic and not already queued. They are counted in
+     * the {@code resource.cleanup.orphans} gauge and only deleted when
+     * {@code cleanup.reconcile.delete-orphans} is on.
+     */
+    @Scheduled(cron = "${cleanup.reconcile.cron:0 30 3 * * *}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Set<String> referenced = new HashSet<>();
+            for (String url : topicsRepository.findAllFilePathUrls()) {
+                String key = s3Service.extractFileNameFromUrl(url);
+                if (key != null) {
+                    referenced.add(key);
+                }
+            }
+
+            Instant cutoff = Instant.now().minus(reconcileMinAge);
+            List<String> candidates = new ArrayList<>();
+            s3Service.forEachObject(reconcilePrefix, object -> {
+                if (object.lastModified().isBefore(cutoff) && !referenced.contains(object.key())) {
+                    candidates.add(object.key());
+                }
+            });
+
+            List<String> orphanKeys = new ArrayList<>();
+            for (int from = 0; from < candidates.size(); from += batchSize) {
+                List<String> chunk = candidates.subList(from, Math.min(from + batchSize, candidates.size()));
+                Set<String> queued = new HashSet<>(jobRepository.findKeysByStatus(
+                        CleanupTarget.S3_OBJECT, CleanupStatus.PENDING, chunk));
+                chunk.stream().filter(key -> !queued.contains(key)).forEach(orphanKeys::add);
+            }
+            orphans.set(orphanKeys.size());
+
+            if (deleteOrphans && !orphanKeys.isEmpty()) {
+                resourceCleanupService.enqueue(CleanupTarget.S3_OBJECT, orphanKeys);
+            }
+            logger.info("Reconciliation found {} orphaned S3 objects ({} referenced keys){}", orphanKeys.size(),
+                    referenced.size(), deleteOrphans ? ", queued for deletion" : "");
+        } catch (Exception e) {
+            logger.error("Resource cleanup reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        long factor = 1L << Math.min(attempts - 1, 20);
+        long millis = Math.min(initialBackoff.toMillis() * factor, maxBackoff.toMillis());
+        return Duration.ofMillis((long) (millis * ThreadLocalRandom.current().nextDouble(0.8, 1.2)));
+    }
+
+    private static String truncate(String error) {
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
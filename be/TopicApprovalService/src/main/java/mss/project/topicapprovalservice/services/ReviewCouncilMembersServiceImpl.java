@@ -38,6 +38,9 @@ public class ReviewCouncilMembersServiceImpl implements IReviewCouncilMembersSer
     @Autowired
     private TopicsRepository topicsRepository;
 
+    @Autowired
+    private RemoteFanOut remoteFanOut;
+
     @Override
     public List<GetMemberOfReviewCouncilResponse> getMembersOfCouncil(Long councilId) {
         ProgressReviewCouncils council = progressReviewCouncilRepository.findByCouncilID(councilId);
@@ -52,11 +55,12 @@ public class ReviewCouncilMembersServiceImpl implements IReviewCouncilMembersSer
         members.forEach(member -> {
             memberAccountIDs.add(member.getAccountID());
         });
-        List<AccountDTO> memberAccounts = new ArrayList<>();
-        memberAccountIDs.forEach(accountID -> {
-            AccountDTO accountDTO = accountService.getAccountById(accountID);
-            memberAccounts.add(accountDTO);
-        });
+        // Lookup các thành viên song song, một thành viên lỗi thì cả request lỗi như trước
+        Map<Long, AccountDTO> accountsById = remoteFanOut.map(memberAccountIDs,
+                accountService::getAccountById, RemoteFanOut.Policy.FAIL_FAST);
+        List<AccountDTO> memberAccounts = memberAccountIDs.stream()
+                .map(accountsById::get)
+                .toList();
 
         Map<Long, String> commentsMap = members.stream()
                 .collect(Collectors.toMap(
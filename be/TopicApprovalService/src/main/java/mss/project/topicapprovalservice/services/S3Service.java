@@ -1,32 +1,137 @@
 package mss.project.topicapprovalservice.services;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import mss.project.topicapprovalservice.dtos.responses.S3ObjectResponse;
+import mss.project.topicapprovalservice.enums.CleanupTarget;
+import mss.project.topicapprovalservice.repositories.ResourceCleanupJobRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class S3Service {
 
+    private static final int MAX_DELETE_KEYS = 1000;
+
+    private static final int MAX_LIST_PAGE_SIZE = 1000;
+
+    // S3 yêu cầu mọi part (trừ part cuối) tối thiểu 5 MB
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    private static final String SHA256_METADATA = "sha256";
+
     private final S3Client s3Client;
 
+    private final S3Presigner s3Presigner;
+
+    private final Duration signatureDuration;
+
+    // object key -> presigned URL; hết hạn trước chữ ký nên URL trả ra luôn còn hiệu lực ít nhất (1 - fraction) * duration
+    private final Cache<String, String> presignedUrls;
+
+    private final AsyncTaskExecutor uploadExecutor;
+
+    private final ResourceCleanupJobRepository cleanupJobRepository;
+
+    private final Timer partUploads;
+
+    private final Timer failedPartUploads;
+
+    private final Counter skippedUploads;
+
+    private final MeterRegistry meterRegistry;
+
     @Value("${aws.s3.bucket-name}")
     private String bucketName;
 
+    @Value("${aws.s3.multipart.threshold:16MB}")
+    private DataSize multipartThreshold;
+
+    @Value("${aws.s3.multipart.part-size:8MB}")
+    private DataSize partSize;
+
+    @Value("${aws.s3.multipart.concurrency:4}")
+    private int partConcurrency;
+
+    public S3Service(S3Client s3Client,
+                     S3Presigner s3Presigner,
+                     @Qualifier("s3UploadExecutor") AsyncTaskExecutor uploadExecutor,
+                     ResourceCleanupJobRepository cleanupJobRepository,
+                     MeterRegistry meterRegistry,
+                     @Value("${aws.s3.presign.signature-duration:1h}") Duration signatureDuration,
+                     @Value("${aws.s3.presign.cache-ttl-fraction:0.5}") double cacheTtlFraction,
+                     @Value("${aws.s3.presign.cache-maximum-size:10000}") long cacheMaximumSize) {
+        if (cacheTtlFraction <= 0 || cacheTtlFraction >= 1) {
+            throw new IllegalArgumentException("aws.s3.presign.cache-ttl-fraction must be between 0 and 1");
+        }
+        this.s3Client = s3Client;
+        this.s3Presigner = s3Presigner;
+        this.signatureDuration = signatureDuration;
+        this.presignedUrls = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis((long) (signatureDuration.toMillis() * cacheTtlFraction)))
+                .maximumSize(cacheMaximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, presignedUrls, "s3.presigned-urls");
+        this.uploadExecutor = uploadExecutor;
+        this.cleanupJobRepository = cleanupJobRepository;
+        this.meterRegistry = meterRegistry;
+        this.partUploads = partTimer(meterRegistry, "success");
+        this.failedPartUploads = partTimer(meterRegistry, "failure");
+        this.skippedUploads = Counter.builder("s3.upload.skipped")
+                .description("Uploads skipped because an object with the same content already exists")
+                .register(meterRegistry);
+    }
+
+    private static Timer partTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("s3.upload.part")
+                .description("Time to upload one multipart part")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
     /**
-     * Upload file to S3
+     * Upload file to S3. The object key is derived from the SHA-256 of the content, so an
+     * identical file that is already in the bucket is not uploaded again, and pending cleanup
+     * jobs for that key (left by a topic that dropped the same content) are cancelled. Files above
+     * {@code aws.s3.multipart.threshold} go through a parallel multipart upload.
      * @param file MultipartFile to upload
      * @return S3 URL of uploaded file
      */
@@ -36,22 +141,52 @@ public class S3Service {
         }
 
         try {
-            String fileName = generateFileName(file.getOriginalFilename());
+            // Tomcat đã lưu file tạm trên máy nên đọc lại để hash là thao tác local, không tốn băng thông S3
+            String sha256 = sha256Hex(file);
+            String fileName = generateFileName(file.getOriginalFilename(), sha256);
             String contentType = file.getContentType();
 
-            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(fileName)
-                    .contentType(contentType)
-                    .build();
+            // Huỷ job xoá đang chờ cho key này trước khi kiểm tra tồn tại: lệnh UPDATE chờ worker
+            // đang xoá đúng key này xong, nên fileExists bên dưới luôn thấy trạng thái sau khi xoá
+            int cancelled = cleanupJobRepository.cancelPending(CleanupTarget.S3_OBJECT, fileName, LocalDateTime.now());
+            if (cancelled > 0) {
+                log.info("Cancelled {} pending cleanup jobs for re-uploaded key {}", cancelled, fileName);
+            }
+
+            if (fileExists(fileName)) {
+                skippedUploads.increment();
+                log.info("File with identical content already in S3, skipping upload: {}", fileName);
+                return getObjectUrl(fileName);
+            }
+
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String mode;
+            if (file.getSize() > Math.max(multipartThreshold.toBytes(), MIN_PART_SIZE)) {
+                try (InputStream in = file.getInputStream()) {
+                    uploadMultipart(fileName, contentType, sha256, in);
+                }
+                mode = "multipart";
+            } else {
+                PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                        .bucket(bucketName)
+                        .key(fileName)
+                        .contentType(contentType)
+                        .metadata(Map.of(SHA256_METADATA, sha256))
+                        .build();
 
-            s3Client.putObject(putObjectRequest, 
-                RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
+                s3Client.putObject(putObjectRequest,
+                    RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
+                mode = "single";
+            }
+            sample.stop(Timer.builder("s3.upload")
+                    .description("Time to upload a file to S3")
+                    .tag("mode", mode)
+                    .register(meterRegistry));
 
-            log.info("File uploaded successfully to S3: {}", fileName);
+            log.info("File uploaded successfully to S3 ({}): {}", mode, fileName);
 
             // Return the S3 URL
-            return String.format("https://%s.s3.amazonaws.com/%s", bucketName, fileName);
+            return getObjectUrl(fileName);
 
         } catch (IOException e) {
             log.error("Error uploading file to S3: {}", e.getMessage());
@@ -59,6 +194,111 @@ public class S3Service {
         }
     }
 
+    /**
+     * Reads the stream part by part and uploads up to {@code aws.s3.multipart.concurrency}
+     * parts at once, so memory stays bounded at concurrency * part-size. Any failure aborts
+     * the multipart upload so S3 does not keep the orphaned parts.
+     */
+    private void uploadMultipart(String key, String contentType, String sha256, InputStream in) throws IOException {
+        int bytesPerPart = (int) Math.max(partSize.toBytes(), MIN_PART_SIZE);
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .metadata(Map.of(SHA256_METADATA, sha256))
+                .checksumAlgorithm(ChecksumAlgorithm.SHA256)
+                .build()).uploadId();
+
+        Semaphore inFlight = new Semaphore(Math.max(1, partConcurrency));
+        List<CompletableFuture<CompletedPart>> parts = new ArrayList<>();
+        try {
+            int partNumber = 1;
+            byte[] buffer;
+            while ((buffer = in.readNBytes(bytesPerPart)).length > 0) {
+                inFlight.acquire();
+                // Dừng đọc tiếp nếu đã có part lỗi
+                parts.stream().filter(CompletableFuture::isCompletedExceptionally).findFirst()
+                        .ifPresent(CompletableFuture::join);
+                byte[] body = buffer;
+                int number = partNumber++;
+                parts.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return uploadPart(key, uploadId, number, body);
+                    } finally {
+                        inFlight.release();
+                    }
+                }, uploadExecutor));
+            }
+
+            List<CompletedPart> completed = new ArrayList<>();
+            for (CompletableFuture<CompletedPart> part : parts) {
+                completed.add(part.join());
+            }
+            completed.sort(Comparator.comparing(CompletedPart::partNumber));
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completed).build())
+                    .build());
+            log.info("Multipart upload of {} completed in {} parts", key, completed.size());
+
+        } catch (InterruptedException | RuntimeException | IOException e) {
+            parts.forEach(part -> part.cancel(true));
+            abortMultipartUpload(key, uploadId);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            throw new IOException("Multipart upload of " + key + " failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    private CompletedPart uploadPart(String key, String uploadId, int partNumber, byte[] body) {
+        long start = System.nanoTime();
+        try {
+            UploadPartResponse response = s3Client.uploadPart(UploadPartRequest.builder()
+                            .bucket(bucketName)
+                            .key(key)
+                            .uploadId(uploadId)
+                            .partNumber(partNumber)
+                            .checksumAlgorithm(ChecksumAlgorithm.SHA256)
+                            .build(),
+                    RequestBody.fromBytes(body));
+            partUploads.record(Duration.ofNanos(System.nanoTime() - start));
+            return CompletedPart.builder()
+                    .partNumber(partNumber)
+                    .eTag(response.eTag())
+                    .checksumSHA256(response.checksumSHA256())
+                    .build();
+        } catch (RuntimeException e) {
+            failedPartUploads.record(Duration.ofNanos(System.nanoTime() - start));
+            throw e;
+        }
+    }
+
+    private void abortMultipartUpload(String key, String uploadId) {
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+            log.warn("Aborted multipart upload {} of {}", uploadId, key);
+        } catch (S3Exception e) {
+            log.error("Failed to abort multipart upload {} of {}: {}", uploadId, key, e.getMessage());
+        }
+    }
+
+    /**
+     * Public URL of an object, in the same format uploadFile returns
+     * @param fileName Object key
+     * @return S3 URL
+     */
+    public String getObjectUrl(String fileName) {
+        return String.format("https://%s.s3.amazonaws.com/%s", bucketName, fileName);
+    }
+
     /**
      * Delete file from S3
      * @param fileName Name of file to delete
@@ -71,6 +311,7 @@ public class S3Service {
                     .build();
 
             s3Client.deleteObject(deleteObjectRequest);
+            presignedUrls.invalidate(fileName);
             log.info("File deleted successfully from S3: {}", fileName);
 
         } catch (S3Exception e) {
@@ -80,29 +321,84 @@ public class S3Service {
     }
 
     /**
-     * Get presigned URL for file (valid for 1 hour)
+     * Delete many files with DeleteObjects, up to 1000 keys per request
+     * @param fileNames Keys to delete
+     * @return Keys S3 could not delete, with the error message; empty if all were deleted
+     */
+    public Map<String, String> deleteFiles(Collection<String> fileNames) {
+        List<String> keys = new ArrayList<>(fileNames);
+        Map<String, String> failed = new HashMap<>();
+        for (int from = 0; from < keys.size(); from += MAX_DELETE_KEYS) {
+            List<ObjectIdentifier> objects = keys.subList(from, Math.min(from + MAX_DELETE_KEYS, keys.size())).stream()
+                    .map(key -> ObjectIdentifier.builder().key(key).build())
+                    .toList();
+            try {
+                DeleteObjectsResponse response = s3Client.deleteObjects(DeleteObjectsRequest.builder()
+                        .bucket(bucketName)
+                        // quiet: S3 chỉ trả về các key bị lỗi
+                        .delete(Delete.builder().objects(objects).quiet(true).build())
+                        .build());
+                response.errors().forEach(error -> failed.put(error.key(), error.code() + ": " + error.message()));
+                objects.forEach(object -> presignedUrls.invalidate(object.key()));
+                log.info("Deleted {} files from S3 in one request", objects.size() - response.errors().size());
+            } catch (S3Exception e) {
+                log.error("Error deleting {} files from S3: {}", objects.size(), e.getMessage());
+                objects.forEach(object -> failed.put(object.key(), e.getMessage()));
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Visit every object under {@code prefix}, fetching the listing page by page
+     * @param prefix Key prefix, empty for the whole bucket
+     * @param consumer Called once per object
+     */
+    public void forEachObject(String prefix, Consumer<S3Object> consumer) {
+        ListObjectsV2Request listRequest = ListObjectsV2Request.builder()
+                .bucket(bucketName)
+                .prefix(prefix)
+                .build();
+        s3Client.listObjectsV2Paginator(listRequest).contents().forEach(consumer);
+    }
+
+    /**
+     * Get presigned URL for file, reused from cache while it still has enough lifetime left
      * @param fileName Name of file
      * @return Presigned URL
      */
     public String getFileUrl(String fileName) {
+        return presignedUrls.get(fileName, this::presign);
+    }
+
+    /**
+     * Get presigned URLs for many files at once
+     * @param fileNames Names of files
+     * @return Presigned URL per file name, in the given order
+     */
+    public Map<String, String> getFileUrls(Collection<String> fileNames) {
+        return new LinkedHashMap<>(presignedUrls.getAll(fileNames, keys -> {
+            Map<String, String> urls = new HashMap<>();
+            for (String key : keys) {
+                urls.put(key, presign(key));
+            }
+            return urls;
+        }));
+    }
+
+    private String presign(String fileName) {
         try {
             GetObjectRequest getObjectRequest = GetObjectRequest.builder()
                     .bucket(bucketName)
                     .key(fileName)
                     .build();
 
-            software.amazon.awssdk.services.s3.presigner.S3Presigner presigner = 
-                software.amazon.awssdk.services.s3.presigner.S3Presigner.create();
-
-            software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest presignRequest = 
-                software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest.builder()
-                    .signatureDuration(Duration.ofHours(1))
+            GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
+                    .signatureDuration(signatureDuration)
                     .getObjectRequest(getObjectRequest)
                     .build();
 
-            URL url = presigner.presignGetObject(presignRequest).url();
-            presigner.close();
-
+            URL url = s3Presigner.presignGetObject(presignRequest).url();
             return url.toString();
 
         } catch (S3Exception e) {
@@ -112,21 +408,14 @@ public class S3Service {
     }
 
     /**
-     * List all files in bucket
+     * List all files in bucket, following continuation tokens.
+     * Builds the whole list in memory; prefer {@link #streamObjects} for large buckets.
      * @return List of file names
      */
     public List<String> listFiles() {
         try {
-            ListObjectsV2Request listRequest = ListObjectsV2Request.builder()
-                    .bucket(bucketName)
-                    .build();
-
-            ListObjectsV2Response listResponse = s3Client.listObjectsV2(listRequest);
-
             List<String> fileNames = new ArrayList<>();
-            for (S3Object s3Object : listResponse.contents()) {
-                fileNames.add(s3Object.key());
-            }
+            forEachObject("", s3Object -> fileNames.add(s3Object.key()));
 
             log.info("Listed {} files from S3 bucket", fileNames.size());
             return fileNames;
@@ -137,6 +426,37 @@ public class S3Service {
         }
     }
 
+    /**
+     * Lazily stream the bucket listing; the next page is only requested once the consumer
+     * has read the previous one. The stream must be closed or fully consumed.
+     * @param prefix Key prefix, null or empty for the whole bucket
+     * @param delimiter Groups keys sharing the part up to the delimiter into common prefixes, null for none
+     * @param pageSize Keys per listObjectsV2 call (1-1000)
+     * @return Common prefixes first, then objects, page by page
+     */
+    public Stream<S3ObjectResponse> streamObjects(String prefix, String delimiter, int pageSize, boolean withMetadata) {
+        ListObjectsV2Request listRequest = ListObjectsV2Request.builder()
+                .bucket(bucketName)
+                .prefix(prefix == null || prefix.isEmpty() ? null : prefix)
+                .delimiter(delimiter == null || delimiter.isEmpty() ? null : delimiter)
+                .maxKeys(Math.max(1, Math.min(pageSize, MAX_LIST_PAGE_SIZE)))
+                .build();
+
+        return s3Client.listObjectsV2Paginator(listRequest).stream()
+                .flatMap(page -> Stream.concat(
+                        page.commonPrefixes().stream()
+                                .map(commonPrefix -> S3ObjectResponse.builder()
+                                        .key(commonPrefix.prefix())
+                                        .prefix(true)
+                                        .build()),
+                        page.contents().stream()
+                                .map(s3Object -> S3ObjectResponse.builder()
+                                        .key(s3Object.key())
+                                        .size(withMetadata ? s3Object.size() : null)
+                                        .lastModified(withMetadata ? s3Object.lastModified() : null)
+                                        .build())));
+    }
+
     /**
      * Check if file exists in S3
      * @param fileName Name of file
@@ -210,12 +530,21 @@ public class S3Service {
     }
 
     /**
-     * Generate unique file name with timestamp
+     * Generate file name from the content hash, so identical content maps to the same key
      * @param originalFilename Original file name
-     * @return Unique file name
+     * @param sha256 Hex SHA-256 of the content
+     * @return Content-addressed file name
      */
-    private String generateFileName(String originalFilename) {
-        long timestamp = System.currentTimeMillis();
-        return timestamp + "_" + originalFilename;
+    private String generateFileName(String originalFilename, String sha256) {
+        return sha256 + "_" + originalFilename;
+    }
+
+    private static String sha256Hex(MultipartFile file) throws IOException {
+        try (DigestInputStream in = new DigestInputStream(file.getInputStream(), MessageDigest.getInstance("SHA-256"))) {
+            in.transferTo(java.io.OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(in.getMessageDigest().digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
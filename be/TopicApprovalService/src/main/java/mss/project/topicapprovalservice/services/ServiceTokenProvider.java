@@ -0,0 +1,76 @@
+package mss.project.topicapprovalservice.services;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Signs short-lived tokens for calls this service makes on its own behalf (background jobs),
+ * where there is no user JWT for FeignClientInterceptor to forward.
+ */
+@Component
+public class ServiceTokenProvider {
+
+    private static final String SUBJECT = "topic-approval-service";
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private final NimbusJwtEncoder encoder;
+
+    // Quyền thấp nhất đủ để gọi /api/accounts/** bên AccountService
+    @Value("${service-token.role:LECTURER}")
+    private String role;
+
+    private volatile Jwt current;
+
+    public ServiceTokenProvider(@Value("${app.jwt.secret-base64}") String secretB64) {
+        byte[] keyBytes = Base64.getDecoder().decode(secretB64);
+        this.encoder = new NimbusJwtEncoder(new ImmutableSecret<>(new SecretKeySpec(keyBytes, "HmacSHA256")));
+    }
+
+    /**
+     * Security context holding a valid service token; install it on the calling thread
+     * before making Feign calls outside a user request.
+     */
+    public SecurityContext serviceContext() {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new JwtAuthenticationToken(token(),
+                List.of(new SimpleGrantedAuthority("ROLE_" + role))));
+        return context;
+    }
+
+    private Jwt token() {
+        Jwt jwt = current;
+        // Cấp token mới khi token cũ còn dưới 1 phút
+        if (jwt == null || jwt.getExpiresAt().isBefore(Instant.now().plus(Duration.ofMinutes(1)))) {
+            Instant now = Instant.now();
+            JwtClaimsSet claims = JwtClaimsSet.builder()
+                    .subject(SUBJECT)
+                    .claim("name", SUBJECT)
+                    .claim("role", role)
+                    .issuedAt(now)
+                    .notBefore(now)
+                    .expiresAt(now.plus(TTL))
+                    .build();
+            jwt = encoder.encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS256).build(), claims));
+            current = jwt;
+        }
+        return jwt;
+    }
+}
@@ -0,0 +1,237 @@
+package mss.project.topicapprovalservice.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import mss.project.topicapprovalservice.enums.ExportFormat;
+import mss.project.topicapprovalservice.pojos.AccountTopics;
+import mss.project.topicapprovalservice.pojos.Council;
+import mss.project.topicapprovalservice.pojos.TopicApproval;
+import mss.project.topicapprovalservice.pojos.Topics;
+import mss.project.topicapprovalservice.repositories.AccountTopicsRepository;
+import mss.project.topicapprovalservice.repositories.TopicApprovalRepository;
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Streams the topic register (topics, members, approvals, council) as NDJSON or CSV.
+ * Topics are read in id-ordered keyset chunks, each in its own short read-only transaction,
+ * and written to the output after that transaction ends: a slow client never holds a pooled
+ * connection. The persistence context is cleared after each chunk so memory stays flat
+ * regardless of row count.
+ */
+@Service
+public class TopicExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TopicExportService.class);
+
+    private static final String[] CSV_HEADER = {"id", "title", "description", "status", "createdBy", "createdAt",
+            "submitedAt", "approvalCount", "requiredApprovals", "councilId", "councilName", "semester",
+            "members", "approvals"};
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private AccountTopicsRepository accountTopicsRepository;
+
+    @Autowired
+    private TopicApprovalRepository topicApprovalRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${topics.export.chunk-size:500}")
+    private int chunkSize;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @Autowired
+    void setTransactionManager(PlatformTransactionManager transactionManager) {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Writes topics with {@code fromId <= id <= toId} in id order. A client that lost the
+     * connection can resume with {@code fromId = last received id + 1}.
+     */
+    public long export(ExportFormat format, Long fromId, Long toId, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writeCsvRow(writer, List.of(CSV_HEADER));
+        }
+
+        long written = 0;
+        long afterId = fromId != null ? fromId - 1 : 0L;
+        long lastId = toId != null ? toId : Long.MAX_VALUE;
+        // preferQueryMode=simple (pooler) tắt server-side cursor của pgjdbc, nên đọc theo từng
+        // khối keyset có LIMIT thay vì dựa vào fetch size của một ResultSet duy nhất
+        while (true) {
+            long chunkAfterId = afterId;
+            Chunk chunk = readOnlyTransaction.execute(status -> readChunk(format, chunkAfterId, lastId));
+            if (chunk.rows().isEmpty()) {
+                break;
+            }
+            // Connection đã trả về pool: client chậm chỉ giữ thread ghi, không giữ connection
+            for (Object row : chunk.rows()) {
+                if (format == ExportFormat.CSV) {
+                    @SuppressWarnings("unchecked")
+                    List<String> values = (List<String>) row;
+                    writeCsvRow(writer, values);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+            }
+            written += chunk.rows().size();
+            afterId = chunk.lastId();
+            writer.flush();
+            if (chunk.rows().size() < chunkSize) {
+                break;
+            }
+        }
+        writer.flush();
+        logger.info("Exported {} topics as {} (id range {}..{})", written, format, fromId, toId);
+        return written;
+    }
+
+    private Chunk readChunk(ExportFormat format, long afterId, long lastId) {
+        List<Topics> topics = entityManager.createQuery(
+                        "SELECT t FROM Topics t LEFT JOIN FETCH t.council " +
+                                "WHERE t.id > :afterId AND t.id <= :toId ORDER BY t.id ASC", Topics.class)
+                .setParameter("afterId", afterId)
+                .setParameter("toId", lastId)
+                .setMaxResults(chunkSize)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, chunkSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+        if (topics.isEmpty()) {
+            return new Chunk(List.of(), afterId);
+        }
+        List<Long> topicIds = topics.stream().map(Topics::getId).toList();
+        Map<Long, List<AccountTopics>> membersByTopic = accountTopicsRepository.findByTopicsIdIn(topicIds).stream()
+                .collect(Collectors.groupingBy(member -> member.getTopics().getId()));
+        Map<Long, List<TopicApproval>> approvalsByTopic = topicApprovalRepository.findByTopicIdIn(topicIds).stream()
+                .collect(Collectors.groupingBy(approval -> approval.getTopic().getId()));
+
+        List<Object> rows = new ArrayList<>(topics.size());
+        for (Topics topic : topics) {
+            List<AccountTopics> members = membersByTopic.getOrDefault(topic.getId(), List.of());
+            List<TopicApproval> approvals = approvalsByTopic.getOrDefault(topic.getId(), List.of());
+            rows.add(format == ExportFormat.CSV
+                    ? toCsvRow(topic, members, approvals)
+                    : toJsonRow(topic, members, approvals));
+        }
+        // Giải phóng các entity đã chuyển thành dòng để heap không tăng theo số dòng
+        entityManager.clear();
+        return new Chunk(rows, topics.get(topics.size() - 1).getId());
+    }
+
+    private Map<String, Object> toJsonRow(Topics topic, List<AccountTopics> members, List<TopicApproval> approvals) {
+        Council council = topic.getCouncil();
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", topic.getId());
+        row.put("title", topic.getTitle());
+        row.put("description", topic.getDescription());
+        row.put("status", topic.getStatus() != null ? topic.getStatus().name() : null);
+        row.put("createdBy", topic.getCreatedBy());
+        row.put("createdAt", stringOrNull(topic.getCreatedAt()));
+        row.put("submitedAt", stringOrNull(topic.getSubmitedAt()));
+        row.put("approvalCount", topic.getApprovalCount());
+        row.put("requiredApprovals", topic.getRequiredApprovals());
+        row.put("councilId", council != null ? council.getId() : null);
+        row.put("councilName", council != null ? council.getCouncilName() : null);
+        row.put("semester", council != null ? council.getSemester() : null);
+        row.put("members", members.stream().map(member -> {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("accountId", member.getAccountId());
+            m.put("accountName", member.getAccountName());
+            m.put("role", member.getRole() != null ? member.getRole().name() : null);
+            return m;
+        }).toList());
+        row.put("approvals", approvals.stream().map(approval -> {
+            Map<String, Object> a = new LinkedHashMap<>();
+            a.put("approverEmail", approval.getApproverEmail());
+            a.put("approverName", approval.getApproverName());
+            a.put("approvedAt", stringOrNull(approval.getApprovedAt()));
+            a.put("approvedFirst", approval.getApprovedFirst());
+            a.put("comment", approval.getComment());
+            return a;
+        }).toList());
+        return row;
+    }
+
+    private List<String> toCsvRow(Topics topic, List<AccountTopics> members, List<TopicApproval> approvals) {
+        Council council = topic.getCouncil();
+        List<String> row = new ArrayList<>(CSV_HEADER.length);
+        row.add(stringOrNull(topic.getId()));
+        row.add(topic.getTitle());
+        row.add(topic.getDescription());
+        row.add(topic.getStatus() != null ? topic.getStatus().name() : null);
+        row.add(topic.getCreatedBy());
+        row.add(stringOrNull(topic.getCreatedAt()));
+        row.add(stringOrNull(topic.getSubmitedAt()));
+        row.add(stringOrNull(topic.getApprovalCount()));
+        row.add(stringOrNull(topic.getRequiredApprovals()));
+        row.add(council != null ? stringOrNull(council.getId()) : null);
+        row.add(council != null ? council.getCouncilName() : null);
+        row.add(council != null ? council.getSemester() : null);
+        // Danh sách lồng nhau được gộp thành một ô, phân cách bằng "; "
+        row.add(members.stream()
+                .map(member -> member.getAccountName() + " (" + member.getAccountId() + ", " + member.getRole() + ")")
+                .collect(Collectors.joining("; ")));
+        row.add(approvals.stream()
+                .map(approval -> approval.getApproverEmail() + " @ " + approval.getApprovedAt())
+                .collect(Collectors.joining("; ")));
+        return row;
+    }
+
+    private void writeCsvRow(Writer writer, List<String> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    private String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+    private String stringOrNull(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * Rows of one chunk, already detached from the persistence context, and the last topic id read.
+     */
+    private record Chunk(List<Object> rows, long lastId) {
+    }
+}
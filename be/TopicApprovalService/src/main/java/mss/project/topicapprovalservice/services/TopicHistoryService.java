@@ -1,6 +1,8 @@
 package mss.project.topicapprovalservice.services;
 
+import mss.project.topicapprovalservice.dtos.requests.TopicHistorySearchRequest;
 import mss.project.topicapprovalservice.dtos.requests.TopicsDTORequest;
+import mss.project.topicapprovalservice.dtos.responses.CursorPageResponse;
 import mss.project.topicapprovalservice.dtos.responses.TopicHistoryDTOResponse;
 import mss.project.topicapprovalservice.pojos.Topics;
 
@@ -8,8 +10,10 @@ import java.util.List;
 
 public interface TopicHistoryService {
     void recordTopicChange(Topics topic, String changedContent, String updatedBy, String actionType);
+    void recordTopicChanges(Topics topic, List<TopicHistoryWriter.FieldChange> changes, String updatedBy, String actionType);
     List<TopicHistoryDTOResponse> getTopicHistory(Long topicId);
     List<TopicHistoryDTOResponse> getHistoryByUser(String username);
     List<TopicHistoryDTOResponse> getAllTopicHistory();
+    CursorPageResponse<TopicHistoryDTOResponse> searchHistory(TopicHistorySearchRequest request);
     Topics updateTopic(Long id, TopicsDTORequest request, String username);
 }
\ No newline at end of file
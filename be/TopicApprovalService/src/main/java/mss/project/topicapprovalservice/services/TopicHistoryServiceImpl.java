@@ -1,12 +1,18 @@
 package mss.project.topicapprovalservice.services;
 
+import mss.project.topicapprovalservice.dtos.requests.TopicHistorySearchRequest;
 import mss.project.topicapprovalservice.dtos.requests.TopicsDTORequest;
+import mss.project.topicapprovalservice.dtos.responses.CursorPageResponse;
+import mss.project.topicapprovalservice.dtos.responses.TopicHistoryChangeResponse;
 import mss.project.topicapprovalservice.dtos.responses.TopicHistoryDTOResponse;
+import mss.project.topicapprovalservice.enums.TopicField;
 import mss.project.topicapprovalservice.exceptions.AppException;
 import mss.project.topicapprovalservice.exceptions.ErrorCode;
-import mss.project.topicapprovalservice.pojos.TopicHistory;
+import mss.project.topicapprovalservice.pojos.TopicHistoryChange;
 import mss.project.topicapprovalservice.pojos.Topics;
+import mss.project.topicapprovalservice.repositories.TopicHistoryChangeRepository;
 import mss.project.topicapprovalservice.repositories.TopicHistoryRepository;
+import mss.project.topicapprovalservice.utils.TopicHistoryValueCodec;
 import mss.project.topicapprovalservice.repositories.TopicsRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -14,11 +20,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -26,6 +33,11 @@ public class TopicHistoryServiceImpl implements TopicHistoryService {
 
     private static final Logger log = LoggerFactory.getLogger(TopicHistoryServiceImpl.class);
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Số history id tối đa trong một câu IN khi nạp change của các danh sách không phân trang
+    private static final int CHANGE_LOOKUP_CHUNK = 500;
+
     @Autowired
     private TopicsRepository topicsRepository;
 
@@ -33,55 +45,139 @@ public class TopicHistoryServiceImpl implements TopicHistoryService {
     private TopicHistoryRepository topicHistoryRepository;
     
     @Autowired
-    private S3Service s3Service;
+    private ResourceCleanupService resourceCleanupService;
+
+    @Autowired
+    private TopicHistoryWriter topicHistoryWriter;
+    
+    @Autowired
+    private TopicHistoryChangeRepository topicHistoryChangeRepository;
     
     @Override
-    @Transactional
     public void recordTopicChange(Topics topic, String changedContent, String updatedBy, String actionType) {
-        TopicHistory history = new TopicHistory();
-        history.setTopic(topic);
-        history.setChangedContent(changedContent);
-        history.setUpdatedBy(updatedBy);
-        history.setUpdatedAt(LocalDateTime.now());
-        history.setActionType(actionType);
-        
-        topicHistoryRepository.save(history);
+        // Ghi bất đồng bộ sau khi transaction commit, không nằm trên đường đi của request
+        topicHistoryWriter.submit(new TopicHistoryWriter.Entry(
+                topic.getId(), changedContent, null, updatedBy, LocalDateTime.now(), actionType));
+    }
+
+    @Override
+    public void recordTopicChanges(Topics topic, List<TopicHistoryWriter.FieldChange> changes, String updatedBy,
+                                   String actionType) {
+        topicHistoryWriter.submit(new TopicHistoryWriter.Entry(
+                topic.getId(), null, List.copyOf(changes), updatedBy, LocalDateTime.now(), actionType));
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<TopicHistoryDTOResponse> getTopicHistory(Long topicId) {
-        List<TopicHistory> histories = topicHistoryRepository.findByTopicIdOrderByUpdatedAtDesc(topicId);
-        return histories.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return withChanges(topicHistoryRepository.findDtosByTopicId(topicId));
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<TopicHistoryDTOResponse> getHistoryByUser(String username) {
-        List<TopicHistory> histories = topicHistoryRepository.findByUpdatedByOrderByUpdatedAtDesc(username);
-        return histories.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return withChanges(topicHistoryRepository.findDtosByUpdatedBy(username));
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<TopicHistoryDTOResponse> getAllTopicHistory() {
-        List<TopicHistory> histories = topicHistoryRepository.findAllByOrderByUpdatedAtDesc();
-        return histories.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return withChanges(topicHistoryRepository.findAllDtos());
     }
-    
-    private TopicHistoryDTOResponse convertToDTO(TopicHistory history) {
-        TopicHistoryDTOResponse dto = new TopicHistoryDTOResponse();
-        dto.setId(history.getId());
-        dto.setTopicId(history.getTopic().getId());
-        dto.setTopicName(history.getTopic().getTitle());
-        dto.setChangedContent(history.getChangedContent());
-        dto.setUpdatedBy(history.getUpdatedBy());
-        dto.setUpdatedAt(history.getUpdatedAt());
-        dto.setActionType(history.getActionType());
-        return dto;
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TopicHistoryDTOResponse> searchHistory(TopicHistorySearchRequest request) {
+        int pageSize = Math.max(1, Math.min(request.getSize(), MAX_PAGE_SIZE));
+        LocalDateTime beforeUpdatedAt = null;
+        Long beforeId = null;
+        String cursor = request.getCursor();
+        if (cursor != null && !cursor.isBlank()) {
+            // Cursor dạng "<updatedAt>_<id>" của dòng cuối trang trước
+            int separator = cursor.lastIndexOf('_');
+            try {
+                beforeUpdatedAt = LocalDateTime.parse(cursor.substring(0, separator));
+                beforeId = Long.parseLong(cursor.substring(separator + 1));
+            } catch (RuntimeException e) {
+                throw new AppException(ErrorCode.INVALID_CURSOR);
+            }
+        }
+
+        List<TopicHistoryDTOResponse> rows = topicHistoryRepository.search(request, beforeUpdatedAt, beforeId, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<TopicHistoryDTOResponse> page = hasNext ? rows.subList(0, pageSize) : rows;
+        TopicHistoryDTOResponse last = hasNext ? page.get(page.size() - 1) : null;
+        return CursorPageResponse.<TopicHistoryDTOResponse>builder()
+                .content(withChanges(page))
+                .pageSize(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(last != null ? last.getUpdatedAt() + "_" + last.getId() : null)
+                .build();
+    }
+
+    /**
+     * Loads the structured changes of the given entries, {@value #CHANGE_LOOKUP_CHUNK} history ids
+     * per query, and renders their {@code changedContent} text; legacy entries keep the text they
+     * were stored with.
+     */
+    private List<TopicHistoryDTOResponse> withChanges(List<TopicHistoryDTOResponse> histories) {
+        if (histories.isEmpty()) {
+            return histories;
+        }
+        List<Long> historyIds = histories.stream().map(TopicHistoryDTOResponse::getId).toList();
+        Map<Long, List<TopicHistoryChangeResponse>> changesByHistory = new HashMap<>();
+        for (int from = 0; from < historyIds.size(); from += CHANGE_LOOKUP_CHUNK) {
+            List<Long> chunk = historyIds.subList(from, Math.min(from + CHANGE_LOOKUP_CHUNK, historyIds.size()));
+            collectChanges(topicHistoryChangeRepository.findByHistoryIdIn(chunk), changesByHistory);
+        }
+        for (TopicHistoryDTOResponse history : histories) {
+            List<TopicHistoryChangeResponse> changes = changesByHistory.get(history.getId());
+            if (changes != null) {
+                history.setChanges(changes);
+                if (history.getChangedContent() == null) {
+                    history.setChangedContent(render(changes));
+                }
+            }
+        }
+        return histories;
+    }
+
+    private static void collectChanges(List<TopicHistoryChange> rows,
+                                       Map<Long, List<TopicHistoryChangeResponse>> changesByHistory) {
+        for (TopicHistoryChange change : rows) {
+            String oldValue = change.getOldValue();
+            String newValue = change.getNewValue();
+            if (change.isCompressed()) {
+                oldValue = oldValue != null ? TopicHistoryValueCodec.decompress(oldValue) : null;
+                newValue = newValue != null ? TopicHistoryValueCodec.decompress(newValue) : null;
+            }
+            changesByHistory.computeIfAbsent(change.getHistory().getId(), k -> new ArrayList<>())
+                    .add(new TopicHistoryChangeResponse(change.getField(), oldValue, newValue, change.isAutomatic()));
+        }
+    }
+
+    private static String render(List<TopicHistoryChangeResponse> changes) {
+        List<String> parts = new ArrayList<>();
+        for (TopicHistoryChangeResponse change : changes) {
+            switch (change.getField()) {
+                case TITLE -> parts.add(String.format("Tên đề tài: '%s' -> '%s'",
+                        change.getOldValue(), change.getNewValue()));
+                case DESCRIPTION -> parts.add("Mô tả đề tài đã được cập nhật");
+                case FILE_PATH_URL -> parts.add(String.format("Đường dẫn file: '%s' -> '%s'",
+                        change.getOldValue() != null ? change.getOldValue() : "(trống)",
+                        change.getNewValue() != null ? change.getNewValue() : "(trống)"));
+                case STATUS -> parts.add(String.format(change.isAutomatic()
+                                ? "Trạng thái: '%s' -> '%s' (tự động reset sau khi cập nhật)"
+                                : "Trạng thái: '%s' -> '%s'",
+                        change.getOldValue(), change.getNewValue()));
+                case SUBMITTED_AT -> parts.add("Ngày nộp đã được cập nhật");
+            }
+        }
+        return String.join("; ", parts);
+    }
+
+    private static String asText(Object value) {
+        return value != null ? value.toString() : null;
     }
 
     @Override
@@ -97,45 +193,31 @@ public class TopicHistoryServiceImpl implements TopicHistoryService {
         // Nếu topic đang ở trạng thái REJECTED, tự động reset về PENDING khi cập nhật
         boolean wasRejected = topic.getStatus() == mss.project.topicapprovalservice.enums.TopicStatus.REJECTED;
         
-        // Ghi nhận các thay đổi chi tiết
-        List<String> changes = new ArrayList<>();
+        // Ghi nhận các thay đổi theo từng field (old/new), text hiển thị được render khi đọc
+        List<TopicHistoryWriter.FieldChange> changes = new ArrayList<>();
         
         // Kiểm tra tên
         if (!Objects.equals(topic.getTitle(), request.getTitle())) {
-            changes.add(String.format("Tên đề tài: '%s' -> '%s'", 
-                topic.getTitle(), request.getTitle()));
+            changes.add(new TopicHistoryWriter.FieldChange(TopicField.TITLE, topic.getTitle(), request.getTitle()));
             topic.setTitle(request.getTitle());
         }
         
         // Kiểm tra mô tả
         if (!Objects.equals(topic.getDescription(), request.getDescription())) {
-            changes.add("Mô tả đề tài đã được cập nhật");
+            changes.add(new TopicHistoryWriter.FieldChange(TopicField.DESCRIPTION,
+                topic.getDescription(), request.getDescription()));
             topic.setDescription(request.getDescription());
         }
         
-        // Kiểm tra filePathUrl
-        if (!Objects.equals(topic.getFilePathUrl(), request.getFilePathUrl())) {
-            // Xóa file cũ trên S3 nếu có filePathUrl cũ (khi thay đổi file hoặc xóa file)
+        // Kiểm tra filePathUrl (null nghĩa là giữ nguyên file hiện tại)
+        if (request.getFilePathUrl() != null && !Objects.equals(topic.getFilePathUrl(), request.getFilePathUrl())) {
+            // File cũ bị thay thế hoặc bị xoá: xếp hàng xoá trên S3, chạy nền sau khi commit
             String oldFilePathUrl = topic.getFilePathUrl();
-            if (oldFilePathUrl != null && !oldFilePathUrl.isEmpty()) {
-                try {
-                    String oldFileName = s3Service.extractFileNameFromUrl(oldFilePathUrl);
-                    if (oldFileName != null && !oldFileName.isEmpty()) {
-                        s3Service.deleteFile(oldFileName);
-                        log.info("Deleted old file from S3: {} for topic {}", oldFileName, id);
-                    } else {
-                        log.warn("Could not extract file name from old filePathUrl: {} for topic {}", oldFilePathUrl, id);
-                    }
-                } catch (Exception e) {
-                    log.error("Failed to delete old file from S3 for topic {}: {}", id, e.getMessage(), e);
-                    // Continue with update even if deletion fails
-                }
-            }
+            resourceCleanupService.deleteS3FileLater(oldFilePathUrl);
             
-            changes.add(String.format("Đường dẫn file: '%s' -> '%s'", 
-                topic.getFilePathUrl() != null ? topic.getFilePathUrl() : "(trống)", 
-                request.getFilePathUrl() != null ? request.getFilePathUrl() : "(trống)"));
-            topic.setFilePathUrl(request.getFilePathUrl() != null ? request.getFilePathUrl() : topic.getFilePathUrl());
+            topic.setFilePathUrl(request.getFilePathUrl());
+            changes.add(new TopicHistoryWriter.FieldChange(TopicField.FILE_PATH_URL,
+                oldFilePathUrl, topic.getFilePathUrl()));
         }
         
         // Kiểm tra status nếu có
@@ -144,8 +226,8 @@ public class TopicHistoryServiceImpl implements TopicHistoryService {
                 mss.project.topicapprovalservice.enums.TopicStatus newStatus = 
                     mss.project.topicapprovalservice.enums.TopicStatus.valueOf(request.getStatus().toUpperCase());
                 if (topic.getStatus() != newStatus) {
-                    changes.add(String.format("Trạng thái: '%s' -> '%s'", 
-                        topic.getStatus(), newStatus));
+                    changes.add(new TopicHistoryWriter.FieldChange(TopicField.STATUS,
+                        asText(topic.getStatus()), newStatus.name()));
                     topic.setStatus(newStatus);
                 }
             } catch (IllegalArgumentException e) {
@@ -156,9 +238,9 @@ public class TopicHistoryServiceImpl implements TopicHistoryService {
             // Để đề tài có thể được duyệt lại
             topic.setStatus(mss.project.topicapprovalservice.enums.TopicStatus.PENDING);
             topic.setApprovalCount(0); // Reset approval count
-            changes.add(String.format("Trạng thái: '%s' -> '%s' (tự động reset sau khi cập nhật)", 
-                mss.project.topicapprovalservice.enums.TopicStatus.REJECTED, 
-                mss.project.topicapprovalservice.enums.TopicStatus.PENDING));
+            changes.add(new TopicHistoryWriter.FieldChange(TopicField.STATUS,
+                mss.project.topicapprovalservice.enums.TopicStatus.REJECTED.name(),
+                mss.project.topicapprovalservice.enums.TopicStatus.PENDING.name(), true));
             log.info("Topic {} status reset from REJECTED to PENDING after update", id);
         }
         
@@ -171,7 +253,8 @@ public class TopicHistoryServiceImpl implements TopicHistoryService {
                 }
                 LocalDateTime newSubmitedAt = LocalDateTime.parse(dateStr);
                 if (!Objects.equals(topic.getSubmitedAt(), newSubmitedAt)) {
-                    changes.add("Ngày nộp đã được cập nhật");
+                    changes.add(new TopicHistoryWriter.FieldChange(TopicField.SUBMITTED_AT,
+                        asText(topic.getSubmitedAt()), newSubmitedAt.toString()));
                     topic.setSubmitedAt(newSubmitedAt);
                 }
             } catch (Exception e) {
@@ -183,11 +266,10 @@ public class TopicHistoryServiceImpl implements TopicHistoryService {
         
         // Lưu lịch sử thay đổi nếu có thay đổi
         if (!changes.isEmpty()) {
-            String changedContent = String.join("; ", changes);
             try {
-                this.recordTopicChange(
+                this.recordTopicChanges(
                     savedTopic, 
-                    changedContent, 
+                    changes, 
                     username, 
                     "UPDATE"
                 );
@@ -0,0 +1,365 @@
+package mss.project.topicapprovalservice.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import mss.project.topicapprovalservice.enums.TopicField;
+import mss.project.topicapprovalservice.utils.TopicHistoryValueCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind for topic_history. Records are queued after the topic transaction commits and a
+ * single background thread inserts them with multi-row INSERTs, once {@code batch-size} records
+ * are waiting or {@code flush-interval} has passed. Consecutive records for the same topic,
+ * user and action in one batch are coalesced into one row. Field-level changes go to
+ * topic_history_changes, gzip-compressed above {@code compress-threshold} characters.
+ * When the queue stays full (or the writer is stopped) the caller writes its record directly,
+ * which both keeps the record and slows producers down to the database's pace.
+ */
+@Component
+public class TopicHistoryWriter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(TopicHistoryWriter.class);
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO topic_history (topic_id, changed_content, updated_by, updated_at, action_type) VALUES ";
+
+    private static final String INSERT_CHANGES_PREFIX =
+            "INSERT INTO topic_history_changes (history_id, field, old_value, new_value, compressed, automatic) VALUES ";
+
+    private static final int MAX_FLUSH_RETRIES = 3;
+
+    /**
+     * One history row waiting to be written. New entries carry structured {@code changes} and no
+     * {@code changedContent}; the text is rendered on read.
+     */
+    public record Entry(Long topicId, String changedContent, List<FieldChange> changes, String updatedBy,
+                        LocalDateTime updatedAt, String actionType) {
+    }
+
+    /**
+     * {@code automatic} marks changes the system made as a side effect of the update (the
+     * REJECTED -> PENDING reset), not values the user sent.
+     */
+    public record FieldChange(TopicField field, String oldValue, String newValue, boolean automatic) {
+
+        public FieldChange(TopicField field, String oldValue, String newValue) {
+            this(field, oldValue, newValue, false);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<Entry> queue;
+
+    private final int batchSize;
+
+    private final Duration flushInterval;
+
+    private final Duration offerTimeout;
+
+    private final Duration shutdownTimeout;
+
+    private final int compressThreshold;
+
+    private final Timer flushLatency;
+
+    private final DistributionSummary flushBatchSize;
+
+    private final Counter directWrites;
+
+    private final Counter dropped;
+
+    private volatile boolean running;
+
+    private Thread flusher;
+
+    public TopicHistoryWriter(JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${topic-history.queue-capacity:10000}") int queueCapacity,
+                              @Value("${topic-history.batch-size:200}") int batchSize,
+                              @Value("${topic-history.flush-interval:500ms}") Duration flushInterval,
+                              @Value("${topic-history.offer-timeout:50ms}") Duration offerTimeout,
+                              @Value("${topic-history.shutdown-timeout:30s}") Duration shutdownTimeout,
+                              @Value("${topic-history.compress-threshold:1024}") int compressThreshold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.compressThreshold = compressThreshold;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.offerTimeout = offerTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+        this.flushLatency = Timer.builder("topic.history.flush.latency")
+                .description("Time to insert one batch of topic history rows")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.flushBatchSize = DistributionSummary.builder("topic.history.flush.batch-size")
+                .description("Rows written per topic history flush")
+                .register(meterRegistry);
+        this.directWrites = Counter.builder("topic.history.direct-writes")
+                .description("History records written on the caller thread because the queue was full")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("topic.history.dropped")
+                .description("History records that could not be written")
+                .register(meterRegistry);
+        meterRegistry.gaugeCollectionSize("topic.history.queue.size", Tags.empty(), queue);
+    }
+
+    /**
+     * Queues {@code entry}; inside a transaction it is queued only once that transaction commits.
+     */
+    public void submit(Entry entry) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(entry);
+                }
+            });
+        } else {
+            enqueue(entry);
+        }
+    }
+
+    private void enqueue(Entry entry) {
+        try {
+            if (running && queue.offer(entry, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Hàng đợi đầy hoặc writer đã dừng: ghi trực tiếp để không mất bản ghi
+        directWrites.increment();
+        try {
+            insert(List.of(entry));
+        } catch (Exception e) {
+            dropped.increment();
+            logger.error("Failed to record topic history for topic {}: {}", entry.topicId(), e.getMessage());
+        }
+    }
+
+    private void runFlusher() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushInterval.toNanos();
+                // Gom tiếp cho tới khi đủ batch hoặc hết flush-interval
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    Entry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // stop() đã hết thời gian chờ: ghi nốt batch hiện tại rồi thoát
+                Thread.currentThread().interrupt();
+                flush(batch);
+                break;
+            }
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void flush(List<Entry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Entry> rows = coalesce(batch);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                flushLatency.record(() -> insert(rows));
+                flushBatchSize.record(rows.size());
+                return;
+            } catch (Exception e) {
+                if (attempt >= MAX_FLUSH_RETRIES || Thread.currentThread().isInterrupted()) {
+                    dropped.increment(rows.size());
+                    logger.error("Dropping {} topic history rows after {} attempts: {}", rows.size(), attempt, e.getMessage());
+                    return;
+                }
+                logger.warn("Topic history flush failed (attempt {}), retrying: {}", attempt, e.getMessage());
+                try {
+                    Thread.sleep(200L * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private static List<Entry> coalesce(List<Entry> batch) {
+        List<Entry> rows = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            Entry last = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+            if (last != null && Objects.equals(last.topicId(), entry.topicId())
+                    && Objects.equals(last.updatedBy(), entry.updatedBy())
+                    && Objects.equals(last.actionType(), entry.actionType())) {
+                rows.set(rows.size() - 1, new Entry(entry.topicId(),
+                        joinContent(last.changedContent(), entry.changedContent()),
+                        mergeChanges(last.changes(), entry.changes()),
+                        entry.updatedBy(), entry.updatedAt(), entry.actionType()));
+            } else {
+                rows.add(entry);
+            }
+        }
+        return rows;
+    }
+
+    private static String joinContent(String first, String second) {
+        if (first == null) {
+            return second;
+        }
+        return second == null ? first : first + "; " + second;
+    }
+
+    /** Same field changed twice in a row collapses into one change from the first old to the last new value. */
+    private static List<FieldChange> mergeChanges(List<FieldChange> first, List<FieldChange> second) {
+        if (first == null || first.isEmpty()) {
+            return second;
+        }
+        if (second == null || second.isEmpty()) {
+            return first;
+        }
+        Map<TopicField, FieldChange> merged = new LinkedHashMap<>();
+        first.forEach(change -> merged.put(change.field(), change));
+        second.forEach(change -> merged.merge(change.field(), change,
+                (earlier, later) -> new FieldChange(earlier.field(), earlier.oldValue(), later.newValue(),
+                        later.automatic())));
+        return new ArrayList<>(merged.values());
+    }
+
+    private void insert(List<Entry> rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> ids = insertHistory(rows);
+            insertChanges(rows, ids);
+        });
+    }
+
+    private List<Long> insertHistory(List<Entry> rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        for (int i = 0; i < rows.size(); i++) {
+            sql.append(i == 0 ? "(?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?)");
+        }
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString(), new String[]{"id"});
+            int index = 1;
+            for (Entry row : rows) {
+                statement.setLong(index++, row.topicId());
+                statement.setString(index++, row.changedContent());
+                statement.setString(index++, row.updatedBy());
+                statement.setTimestamp(index++, Timestamp.valueOf(row.updatedAt()));
+                statement.setString(index++, row.actionType());
+            }
+            return statement;
+        }, keys);
+        // PostgreSQL trả RETURNING theo đúng thứ tự các dòng trong VALUES
+        return keys.getKeyList().stream()
+                .map(key -> ((Number) key.get("id")).longValue())
+                .toList();
+    }
+
+    private void insertChanges(List<Entry> rows, List<Long> ids) {
+        StringBuilder sql = new StringBuilder(INSERT_CHANGES_PREFIX);
+        List<Object> args = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            List<FieldChange> changes = rows.get(i).changes();
+            if (changes == null) {
+                continue;
+            }
+            for (FieldChange change : changes) {
+                boolean compress = isLarge(change.oldValue()) || isLarge(change.newValue());
+                sql.append(args.isEmpty() ? "(?, ?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?, ?)");
+                args.add(ids.get(i));
+                args.add(change.field().name());
+                args.add(compress ? compressOrNull(change.oldValue()) : change.oldValue());
+                args.add(compress ? compressOrNull(change.newValue()) : change.newValue());
+                args.add(compress);
+                args.add(change.automatic());
+            }
+        }
+        if (!args.isEmpty()) {
+            jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+    }
+
+    private boolean isLarge(String value) {
+        return compressThreshold > 0 && value != null && value.length() > compressThreshold;
+    }
+
+    private static String compressOrNull(String value) {
+        return value == null ? null : TopicHistoryValueCodec.compress(value);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusher = new Thread(this::runFlusher, "topic-history-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            flusher.join(shutdownTimeout.toMillis());
+            if (flusher.isAlive()) {
+                flusher.interrupt();
+                flusher.join(1000);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            dropped.increment(queue.size());
+            logger.error("Topic history writer stopped with {} unwritten rows", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
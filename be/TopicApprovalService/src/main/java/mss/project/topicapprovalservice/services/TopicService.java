@@ -3,6 +3,7 @@ package mss.project.topicapprovalservice.services;
 
 
 import mss.project.topicapprovalservice.dtos.responses.*;
+import mss.project.topicapprovalservice.dtos.requests.TopicSearchRequest;
 import mss.project.topicapprovalservice.dtos.requests.TopicsDTORequest;
 import mss.project.topicapprovalservice.enums.TopicStatus;
 
@@ -15,15 +16,18 @@ public interface TopicService {
     TopicsDTOResponse updateTopic(Long Id, TopicsDTORequest topicsDTO);
     void deleteTopic(Long topicId);
     List<TopicsDTOResponse> getAllTopics();
+    CursorPageResponse<TopicsDTOResponse> searchTopics(TopicSearchRequest request);
     TopicsDTOResponse approveTopic(Long topicId, String email);
     TopicsDTOResponse rejectTopic(Long topicId, String email);
     List<GetAllApprovedTopicsResponse> getApprovedTopics(Long accountID);
+    CursorPageResponse<GetAllApprovedTopicsResponse> getApprovedTopics(Long accountID, String cursor, int size);
     List<TopicsDTOResponse> getTopicsByStatus(TopicStatus status);
     List<TopicsDTOResponse> getTopicsByCreatorId(Long creatorId);
     AccountTopicsDTOResponse joinTopic(Long topicId, Long memberId, String memberName);
     AccountTopicsDTOResponse addTopicMember(Long topicId, Long accountId, String accountName);
     List<AccountTopicsDTOResponse> getTopicMembers(Long topicId);
     List<TopicsWithCouncilIsNullResponse> getTopicsByCouncilNotNull();
+    CursorPageResponse<TopicsWithCouncilIsNullResponse> getTopicsByCouncilNotNull(String cursor, int size);
     void removeTopicMember(Long topicId, Long accountId);
     TopicsDTOResponse updateTopicStatus(Long topicId, TopicStatus status);
     
@@ -31,8 +35,10 @@ public interface TopicService {
     TopicWithApprovalStatusResponse approveTopicV2(Long topicId, String approverEmail, String approverName, String comment);
     TopicWithApprovalStatusResponse rejectTopicV2(Long topicId, String rejectorEmail, String rejectorName, String reason);
     List<TopicWithApprovalStatusResponse> getPendingTopicsForApproval(String userEmail);
+    CursorPageResponse<TopicWithApprovalStatusResponse> getPendingTopicsForApproval(String userEmail, String cursor, int size);
     List<TopicWithApprovalStatusResponse> getApprovedTopicsByUser(String userEmail);
     List<TopicWithApprovalStatusResponse> getFullyApprovedTopics();
+    CursorPageResponse<TopicWithApprovalStatusResponse> getFullyApprovedTopics(String cursor, int size);
     
     // Check if user can edit topic (creator or member)
     boolean canUserEditTopic(Long topicId, Long accountId);
@@ -1,6 +1,7 @@
 package mss.project.topicapprovalservice.services;
 
 import mss.project.topicapprovalservice.dtos.responses.*;
+import mss.project.topicapprovalservice.dtos.requests.TopicSearchRequest;
 import mss.project.topicapprovalservice.dtos.requests.TopicsDTORequest;
 import mss.project.topicapprovalservice.enums.Milestone;
 import mss.project.topicapprovalservice.exceptions.AppException;
@@ -12,17 +13,29 @@ import mss.project.topicapprovalservice.pojos.AccountTopics;
 import mss.project.topicapprovalservice.repositories.ProgressReviewCouncilRepository;
 import mss.project.topicapprovalservice.repositories.TopicApprovalRepository;
 import mss.project.topicapprovalservice.repositories.TopicsRepository;
+import mss.project.topicapprovalservice.repositories.TopicsSpecifications;
 import mss.project.topicapprovalservice.repositories.AccountTopicsRepository;
 import mss.project.topicapprovalservice.enums.TopicRole;
 import mss.project.topicapprovalservice.enums.TopicStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,6 +43,18 @@ public class TopicsServiceImpl implements TopicService {
 
     private static final Logger logger = LoggerFactory.getLogger(TopicsServiceImpl.class);
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final List<TopicStatus> PENDING_APPROVAL_STATUSES = List.of(TopicStatus.PENDING, TopicStatus.UNDER_REVIEW);
+
+    private static final List<TopicStatus> APPROVED_TOPIC_STATUSES = List.of(TopicStatus.APPROVED,
+            TopicStatus.PASSED_REVIEW_1, TopicStatus.PASSED_REVIEW_2, TopicStatus.PASSED_REVIEW_3, TopicStatus.FAILED);
+
+    private static final List<TopicStatus> REVIEWED_BY_USER_STATUSES = List.of(TopicStatus.UNDER_REVIEW,
+            TopicStatus.APPROVED, TopicStatus.REJECTED);
+
+    private static final List<TopicRole> OWNER_ROLES = List.of(TopicRole.CREATOR, TopicRole.MEMBER);
+
     @Autowired
     private AuthorizationService authorizationService;
 
@@ -48,6 +73,9 @@ public class TopicsServiceImpl implements TopicService {
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
     @Autowired
     private CouncilService councilService;
 
@@ -55,9 +83,16 @@ public class TopicsServiceImpl implements TopicService {
     private PlagiarismService plagiarismService;
 
     @Autowired
-    private S3Service s3Service;
+    private ResourceCleanupService resourceCleanupService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${topics.approval.max-attempts:5}")
+    private int approvalMaxAttempts;
 
     @Override
+    @Transactional(readOnly = true)
     public TopicsDTOResponse getTopicbById(Long topicId) {
         Topics topics = topicsRepository.findById(topicId)
                 .orElseThrow(() -> new AppException(ErrorCode.TOPICS_NOT_FOUND));
@@ -146,6 +181,7 @@ public class TopicsServiceImpl implements TopicService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AccountTopicsDTOResponse> getTopicMembers(Long topicId) {
         // Kiểm tra topic có tồn tại không
         if (!topicsRepository.existsById(topicId)) {
@@ -159,9 +195,22 @@ public class TopicsServiceImpl implements TopicService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TopicsWithCouncilIsNullResponse> getTopicsByCouncilNotNull() {
         List<Topics> topics = topicsRepository.findByCouncilIsNullAndStatus(TopicStatus.PASSED_REVIEW_3);
+        return convertToTopicsWithReviewDate(topics);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TopicsWithCouncilIsNullResponse> getTopicsByCouncilNotNull(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<Topics> topics = topicsRepository.findByCouncilIsNullAndStatusAndIdGreaterThanOrderByIdAsc(
+                TopicStatus.PASSED_REVIEW_3, parseIdCursor(cursor), PageRequest.of(0, pageSize + 1));
+        return toCursorPage(topics, pageSize, topic -> String.valueOf(topic.getId()), this::convertToTopicsWithReviewDate);
+    }
 
+    private List<TopicsWithCouncilIsNullResponse> convertToTopicsWithReviewDate(List<Topics> topics) {
         List<Long> topicIds = topics.stream().map(Topics::getId).toList();
         List<ProgressReviewCouncils> councils = progressReviewCouncilRepository.findAllByTopic_IdInAndMilestone(topicIds, Milestone.WEEK_12);
 
@@ -266,26 +315,12 @@ public class TopicsServiceImpl implements TopicService {
             logger.info("Topic {} status reset from REJECTED to PENDING after update", Id);
         }
         
-        // Xóa file cũ trên S3 nếu có filePathUrl cũ
-        // File mới sẽ được upload thông qua plagiarism check service
-        String oldFilePathUrl = existingTopic.getFilePathUrl();
-        if (oldFilePathUrl != null && !oldFilePathUrl.isEmpty()) {
-            try {
-                String oldFileName = s3Service.extractFileNameFromUrl(oldFilePathUrl);
-                if (oldFileName != null && !oldFileName.isEmpty()) {
-                    s3Service.deleteFile(oldFileName);
-                    logger.info("Deleted old file from S3: {} for topic {}", oldFileName, Id);
-                } else {
-                    logger.warn("Could not extract file name from old filePathUrl: {} for topic {}", oldFilePathUrl, Id);
-                }
-            } catch (Exception e) {
-                logger.error("Failed to delete old file from S3 for topic {}: {}", Id, e.getMessage(), e);
-                // Continue with update even if deletion fails
-            }
-        }
-        
         // Luôn update filePathUrl khi có giá trị (kể cả empty string để clear)
-        if (topicsDTO.getFilePathUrl() != null) {
+        // File mới sẽ được upload thông qua plagiarism check service; file cũ chỉ bị xoá khi bị thay thế,
+        // và việc xoá trên S3 chạy nền sau khi transaction commit
+        String oldFilePathUrl = existingTopic.getFilePathUrl();
+        if (topicsDTO.getFilePathUrl() != null && !topicsDTO.getFilePathUrl().equals(oldFilePathUrl)) {
+            resourceCleanupService.deleteS3FileLater(oldFilePathUrl);
             existingTopic.setFilePathUrl(topicsDTO.getFilePathUrl());
             logger.info("Updated topic {} filePathUrl to: {}", Id, topicsDTO.getFilePathUrl());
         }
@@ -315,38 +350,15 @@ public class TopicsServiceImpl implements TopicService {
             throw new AppException(ErrorCode.TOPICS_NOT_FOUND);
         }
         
-        // Lấy topic để xóa file trên S3
         Topics topic = topicsRepository.findById(topicId)
                 .orElseThrow(() -> new AppException(ErrorCode.TOPICS_NOT_FOUND));
         
-        // Xóa file trên S3 nếu có
-        String filePathUrl = topic.getFilePathUrl();
-        if (filePathUrl != null && !filePathUrl.isEmpty()) {
-            try {
-                String fileName = s3Service.extractFileNameFromUrl(filePathUrl);
-                if (fileName != null && !fileName.isEmpty()) {
-                    s3Service.deleteFile(fileName);
-                    logger.info("Deleted file from S3: {} for topic {}", fileName, topicId);
-                } else {
-                    logger.warn("Could not extract file name from filePathUrl: {} for topic {}", filePathUrl, topicId);
-                }
-            } catch (Exception e) {
-                logger.error("Failed to delete file from S3 for topic {}: {}", topicId, e.getMessage(), e);
-                // Continue with deletion even if file deletion fails
-            }
-        }
-        
-        // Xóa topic khỏi Qdrant (vector database) trước
-        try {
-            if (plagiarismService != null) {
-                plagiarismService.deleteTopicFromQdrant(topicId);
-                logger.info("Successfully deleted topic {} from Qdrant", topicId);
-            } else {
-                logger.warn("PlagiarismService is not available, skipping Qdrant deletion for topic {}", topicId);
-            }
-        } catch (Exception e) {
-            // Log error nhưng vẫn tiếp tục xóa topic (có thể topic không có trong Qdrant)
-            logger.warn("Error deleting topic {} from Qdrant (continuing with topic deletion): {}", topicId, e.getMessage());
+        // Xóa file trên S3 và vector trong Qdrant được xếp hàng cùng transaction, chạy nền sau khi commit
+        resourceCleanupService.deleteS3FileLater(topic.getFilePathUrl());
+        if (plagiarismService != null) {
+            resourceCleanupService.deleteQdrantTopicLater(topicId);
+        } else {
+            logger.warn("PlagiarismService is not available, skipping Qdrant deletion for topic {}", topicId);
         }
         
         // Xóa tất cả AccountTopics liên quan trước
@@ -356,15 +368,61 @@ public class TopicsServiceImpl implements TopicService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TopicsDTOResponse> getAllTopics() {
         List<Topics> topics = topicsRepository.findAll();
-        if (!topics.isEmpty()) {
-            return topics.stream().map(this::convertToDTO).toList();
+        return topics.stream().map(this::convertToDTO).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TopicsDTOResponse> searchTopics(TopicSearchRequest request) {
+        int pageSize = Math.max(1, Math.min(request.getSize(), MAX_PAGE_SIZE));
+        Specification<Topics> filters = Specification.allOf(
+                TopicsSpecifications.hasStatus(request.getStatus()),
+                TopicsSpecifications.createdBy(request.getCreatedBy()),
+                TopicsSpecifications.inSemester(request.getSemester()));
+
+        Specification<Topics> keyset;
+        Sort sort;
+        Function<Topics, String> cursorOf;
+        if ("createdAt".equalsIgnoreCase(request.getSortBy())) {
+            // Cursor dạng "<createdAt>_<id>", sắp xếp mới nhất trước
+            keyset = createdAtKeyset(request.getCursor());
+            sort = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+            cursorOf = topic -> topic.getCreatedAt() + "_" + topic.getId();
+        } else {
+            keyset = TopicsSpecifications.idAfter(parseIdCursor(request.getCursor()));
+            sort = Sort.by(Sort.Order.asc("id"));
+            cursorOf = topic -> String.valueOf(topic.getId());
+        }
+
+        List<Topics> rows = topicsRepository.findBy(filters.and(keyset),
+                query -> query.sortBy(sort).limit(pageSize + 1).all());
+        CursorPageResponse<TopicsDTOResponse> page = toCursorPage(rows, pageSize, cursorOf,
+                topics -> topics.stream().map(this::convertToDTO).toList());
+        if (request.isIncludeTotal()) {
+            page.setTotalElements(topicsRepository.count(filters));
+        }
+        return page;
+    }
+
+    private Specification<Topics> createdAtKeyset(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        int separator = cursor.lastIndexOf('_');
+        try {
+            return TopicsSpecifications.createdBefore(
+                    LocalDateTime.parse(cursor.substring(0, separator)),
+                    Long.parseLong(cursor.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new AppException(ErrorCode.INVALID_CURSOR);
         }
-        return null;
     }
 
     @Override
+    @Transactional
     public TopicsDTOResponse approveTopic(Long topicId, String email) {
         authorizationService.checkHeadOfDepartmentPermission(email);
         
@@ -380,6 +438,7 @@ public class TopicsServiceImpl implements TopicService {
     }
     
     @Override
+    @Transactional
     public TopicsDTOResponse rejectTopic(Long topicId, String email) {
         authorizationService.checkHeadOfDepartmentPermission(email);
         
@@ -396,34 +455,38 @@ public class TopicsServiceImpl implements TopicService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<GetAllApprovedTopicsResponse> getApprovedTopics(Long accountID) {
-        AccountDTO accountDTO = accountService.getAccountById(accountID);
-        List<TopicStatus> statusList = Arrays.asList(TopicStatus.APPROVED, TopicStatus.PASSED_REVIEW_1, TopicStatus.PASSED_REVIEW_2, TopicStatus.PASSED_REVIEW_3,TopicStatus.FAILED);
-        List<Topics> topicsList = topicsRepository.findByStatusIn(statusList);
-        List<Topics> myApprovedTopicsList = new ArrayList<>();
-        topicsList.forEach(topics -> {
-            if(topicApprovalRepository.findByApproverEmailAndTopicIdAndApprovedFirstIsTrue(accountDTO.getEmail(), topics.getId()) != null) {
-                myApprovedTopicsList.add(topics);
-            }
-        });
-        return myApprovedTopicsList.stream().map(topic ->
-                GetAllApprovedTopicsResponse.builder()
-                        .topicID(topic.getId())
-                        .topicTitle(topic.getTitle())
-                        .description(topic.getDescription())
-                        .topicStatus(topic.getStatus().getDisplayName())
-                        .build()).toList();
+        return topicsRepository.findApprovedFirstByApprover(
+                getApproverEmail(accountID), APPROVED_TOPIC_STATUSES, 0L, Pageable.unpaged());
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<GetAllApprovedTopicsResponse> getApprovedTopics(Long accountID, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<GetAllApprovedTopicsResponse> rows = topicsRepository.findApprovedFirstByApprover(
+                getApproverEmail(accountID), APPROVED_TOPIC_STATUSES, parseIdCursor(cursor), PageRequest.of(0, pageSize + 1));
+        return toCursorPage(rows, pageSize, row -> String.valueOf(row.getTopicID()), Function.identity());
+    }
+
+    private String getApproverEmail(Long accountID) {
+        AccountDTO accountDTO = accountID != null ? accountService.getAccountById(accountID) : null;
+        if (accountDTO == null) {
+            throw new AppException(ErrorCode.ACCOUNT_NOT_FOUND);
+        }
+        return accountDTO.getEmail();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<TopicsDTOResponse> getTopicsByStatus(TopicStatus status) {
-        List<Topics> topics = topicsRepository.findByStatus(status);
-        return topics.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        // Projection: không nạp entity vào persistence context, không dirty checking
+        return topicsRepository.findDtosByStatus(status);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TopicsDTOResponse> getTopicsByCreatorId(Long creatorId) {
         if (creatorId == null) {
             logger.warn("getTopicsByCreatorId called with null creatorId");
@@ -433,27 +496,20 @@ public class TopicsServiceImpl implements TopicService {
         logger.info("Finding topics for creatorId: {}", creatorId);
         
         // CHỈ tìm theo createdBy field (chính xác nhất, không bao gồm topics có createdBy = null)
-        List<Topics> topicsByCreatedBy = topicsRepository.findByCreatedBy(creatorId.toString());
+        List<TopicsDTOResponse> topicsByCreatedBy = topicsRepository.findDtosByCreatedBy(creatorId.toString());
         logger.info("Found {} topics by createdBy field for creatorId: {}", topicsByCreatedBy.size(), creatorId);
         
         // Log để verify
         if (!topicsByCreatedBy.isEmpty()) {
             List<Long> topicIds = topicsByCreatedBy.stream()
-                    .map(Topics::getId)
+                    .map(TopicsDTOResponse::getId)
                     .collect(Collectors.toList());
             logger.info("Topic IDs found by createdBy: {}", topicIds);
-            
-            // Verify createdBy của từng topic
-            for (Topics topic : topicsByCreatedBy) {
-                logger.debug("Topic ID: {}, createdBy: {}", topic.getId(), topic.getCreatedBy());
-            }
         } else {
             logger.warn("No topics found with createdBy = '{}'", creatorId.toString());
         }
         
-        return topicsByCreatedBy.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return topicsByCreatedBy;
     }
 
     private Topics convertToEntity(TopicsDTORequest topicsDTO){
@@ -516,12 +572,42 @@ public class TopicsServiceImpl implements TopicService {
 
     // ========== 2-Person Approval Workflow Methods ==========
 
+    /**
+     * Lock-free approval: the topic row carries a {@code @Version}, so of two approvers committing
+     * at once the later one fails its version check, rolls back (approval row included) and retries
+     * against the fresh count, up to {@code topics.approval.max-attempts} times.
+     */
     @Override
-    @Transactional
     public TopicWithApprovalStatusResponse approveTopicV2(Long topicId, String approverEmail, String approverName, String comment) {
         logger.info("Approving topic {} by user {} ({})", topicId, approverName, approverEmail);
-        
-        // Find topic
+
+        // Gọi AccountService trước, ngoài transaction và ngoài vòng retry
+        AccountDTO account = accountService.getAccountByEmail(approverEmail);
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status ->
+                        approveOnce(topicId, account, approverEmail, approverName, comment));
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= approvalMaxAttempts) {
+                    logger.warn("Approval of topic {} by {} still conflicting after {} attempts", topicId, approverEmail, attempt);
+                    throw new AppException(ErrorCode.TOPIC_CONCURRENTLY_MODIFIED);
+                }
+                logger.debug("Approval of topic {} by {} conflicted (attempt {}), retrying", topicId, approverEmail, attempt);
+                backOff(attempt);
+            } catch (DataIntegrityViolationException e) {
+                if (isDuplicateApproval(e)) {
+                    // Cùng người duyệt gửi hai request song song: request sau vướng unique (topic_id, approver_email)
+                    logger.warn("Topic {} already approved by user {}", topicId, approverEmail);
+                    throw new AppException(ErrorCode.TOPIC_ALREADY_APPROVED);
+                }
+                throw e;
+            }
+        }
+    }
+
+    private TopicWithApprovalStatusResponse approveOnce(Long topicId, AccountDTO account, String approverEmail,
+                                                        String approverName, String comment) {
         Topics topic = topicsRepository.findById(topicId)
                 .orElseThrow(() -> new AppException(ErrorCode.TOPICS_NOT_FOUND));
 
@@ -531,50 +617,70 @@ public class TopicsServiceImpl implements TopicService {
             throw new AppException(ErrorCode.TOPIC_ALREADY_APPROVED);
         }
 
-        // Get account info and check if user is creator or member of the topic
-        AccountDTO account = accountService.getAccountByEmail(approverEmail);
+        // Check if user is creator or member of the topic
         if (account != null && accountTopicsRepository.existsByTopicsIdAndAccountIdAndRoleIn(
                 topicId, account.getId(), List.of(TopicRole.CREATOR, TopicRole.MEMBER))) {
             logger.warn("User {} is creator or member of topic {}, cannot approve", approverEmail, topicId);
             throw new AppException(ErrorCode.CANNOT_APPROVE_OWN_TOPIC);
         }
 
-        // Create approval record
+        // Chỉ duyệt được topic đang chờ duyệt; topic đã đủ phiếu thì các phiếu đến sau bị từ chối
+        if (topic.getStatus() != TopicStatus.PENDING && topic.getStatus() != TopicStatus.UNDER_REVIEW) {
+            logger.warn("Topic {} cannot be approved in status {}", topicId, topic.getStatus());
+            throw new AppException(ErrorCode.INVALID_TOPIC_STATUS);
+        }
+
+        // approvalCount được đọc cùng version, nên "người duyệt đầu tiên" và số phiếu luôn khớp nhau
+        int approvalCount = topic.getApprovalCount() + 1;
         TopicApproval approval = TopicApproval.builder()
                 .topic(topic)
                 .approverEmail(approverEmail)
                 .approverName(approverName)
                 .comment(comment)
-                .approvedFirst((topicApprovalRepository.countByTopicId(topicId) == 0))
+                .approvedFirst(approvalCount == 1)
                 .build();
-        topicApprovalRepository.save(approval);
-        logger.info("Saved approval record: topicId={}, approverEmail={}, approverName={}", 
+        topicApprovalRepository.saveAndFlush(approval);
+        logger.info("Saved approval record: topicId={}, approverEmail={}, approverName={}",
                     topicId, approverEmail, approverName);
 
-        // Update approval count
-        topic.setApprovalCount(topic.getApprovalCount() + 1);
+        topic.setApprovalCount(approvalCount);
+        if (approvalCount >= topic.getRequiredApprovals()) {
+            // Fully approved - change to APPROVED
+            topic.setStatus(TopicStatus.APPROVED);
+            logger.info("Topic {} status changed to APPROVED ({}/{})",
+                        topicId, approvalCount, topic.getRequiredApprovals());
 
-        // Update status based on approval count
-        if (topic.getApprovalCount() == 1) {
+            // Queue email notification to topic owners (creator and members); sent after commit by the outbox dispatcher
+            emailOutboxService.enqueueTopicApproved(topic);
+        } else if (topic.getStatus() == TopicStatus.PENDING) {
             // First approval - change to UNDER_REVIEW
             topic.setStatus(TopicStatus.UNDER_REVIEW);
-            logger.info("Topic {} status changed to UNDER_REVIEW (1/{})", 
-                        topicId, topic.getRequiredApprovals());
-        } else if (topic.getApprovalCount() >= topic.getRequiredApprovals()) {
-            // Fully approved - change to APPROVED
-            topic.setStatus(TopicStatus.APPROVED);
-            logger.info("Topic {} status changed to APPROVED ({}/{})", 
-                        topicId, topic.getApprovalCount(), topic.getRequiredApprovals());
-            
-            // Send email notification to topic owners (creator and members)
-            sendTopicApprovedEmails(topic);
+            logger.info("Topic {} status changed to UNDER_REVIEW ({}/{})",
+                        topicId, approvalCount, topic.getRequiredApprovals());
         }
 
-        topicsRepository.save(topic);
+        // Flush ngay để xung đột version lộ ra ở đây (và được retry) thay vì lúc commit
+        topicsRepository.saveAndFlush(topic);
 
         return convertToTopicWithApprovalStatusDTO(topic, approverEmail);
     }
 
+    private static boolean isDuplicateApproval(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && (violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE
+                    || TopicApproval.UNIQUE_TOPIC_APPROVER.equalsIgnoreCase(violation.getConstraintName()));
+    }
+
+    private static void backOff(int attempt) {
+        try {
+            // Jitter để các request đụng nhau không retry cùng một lúc
+            Thread.sleep(ThreadLocalRandom.current().nextLong(5, 20L * attempt + 5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AppException(ErrorCode.TOPIC_CONCURRENTLY_MODIFIED);
+        }
+    }
+
     @Override
     @Transactional
     public TopicWithApprovalStatusResponse rejectTopicV2(Long topicId, String rejectorEmail, String rejectorName, String reason) {
@@ -620,82 +726,97 @@ public class TopicsServiceImpl implements TopicService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TopicWithApprovalStatusResponse> getPendingTopicsForApproval(String userEmail) {
-        // Get account info from email
+        List<Topics> pendingTopics = findPendingTopicsForApprover(userEmail, 0L, Pageable.unpaged());
+        return convertToTopicWithApprovalStatusDTOs(pendingTopics, userEmail);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TopicWithApprovalStatusResponse> getPendingTopicsForApproval(String userEmail, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Long afterId = parseIdCursor(cursor);
+
+        // Lấy dư 1 phần tử để biết còn trang sau hay không
+        List<Topics> topics = findPendingTopicsForApprover(userEmail, afterId, PageRequest.of(0, pageSize + 1));
+        return toCursorPage(topics, pageSize, topic -> String.valueOf(topic.getId()),
+                page -> convertToTopicWithApprovalStatusDTOs(page, userEmail));
+    }
+
+    /**
+     * Builds a keyset page from {@code pageSize + 1} rows: the extra row only signals that a next page exists.
+     */
+    private <E, R> CursorPageResponse<R> toCursorPage(List<E> rows, int pageSize, Function<E, String> cursorOf,
+                                                      Function<List<E>, List<R>> converter) {
+        boolean hasNext = rows.size() > pageSize;
+        List<E> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        return CursorPageResponse.<R>builder()
+                .content(converter.apply(page))
+                .pageSize(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null)
+                .build();
+    }
+
+    /**
+     * PENDING/UNDER_REVIEW topics the user has not approved yet and is not creator or member of,
+     * filtered in a single query instead of per-topic existence checks.
+     */
+    private List<Topics> findPendingTopicsForApprover(String userEmail, Long afterId, Pageable pageable) {
         AccountDTO account = accountService.getAccountByEmail(userEmail);
-        Long accountId = account != null ? account.getId() : null;
-        
-        // Get all PENDING or UNDER_REVIEW topics
-        List<Topics> pendingTopics = topicsRepository.findByStatusIn(
-                List.of(TopicStatus.PENDING, TopicStatus.UNDER_REVIEW)
-        );
-
-        // Filter out topics:
-        // 1. Already approved by this user
-        // 2. Created by this user (CREATOR role)
-        // 3. User is a member of (MEMBER role)
-        return pendingTopics.stream()
-                .filter(topic -> {
-                    // Kiểm tra đã duyệt chưa
-                    if (topicApprovalRepository.existsByTopicIdAndApproverEmail(topic.getId(), userEmail)) {
-                        return false;
-                    }
-                    // Kiểm tra có phải là creator hoặc member không
-                    if (accountId != null && accountTopicsRepository.existsByTopicsIdAndAccountIdAndRoleIn(
-                            topic.getId(), accountId, List.of(TopicRole.CREATOR, TopicRole.MEMBER))) {
-                        logger.debug("User {} is creator or member of topic {}, cannot approve", userEmail, topic.getId());
-                        return false;
-                    }
-                    return true;
-                })
-                .map(topic -> convertToTopicWithApprovalStatusDTO(topic, userEmail))
-                .collect(Collectors.toList());
+        // Không có account thì không thể trùng account_topics, dùng id không tồn tại
+        Long accountId = account != null && account.getId() != null ? account.getId() : -1L;
+
+        return topicsRepository.findPendingForApprover(
+                PENDING_APPROVAL_STATUSES, userEmail, accountId, OWNER_ROLES, afterId, pageable);
+    }
+
+    private Long parseIdCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(cursor.trim());
+        } catch (NumberFormatException e) {
+            throw new AppException(ErrorCode.INVALID_CURSOR);
+        }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TopicWithApprovalStatusResponse> getApprovedTopicsByUser(String userEmail) {
         logger.info("Getting approved topics for user: {}", userEmail);
         
-        // Get all approvals by this user using optimized query
-        List<TopicApproval> userApprovals = topicApprovalRepository.findByApproverEmail(userEmail);
-        logger.info("Found {} approval records for user {}", userApprovals.size(), userEmail);
-
-        // Get all topics that user has approved or rejected
-        List<TopicWithApprovalStatusResponse> result = userApprovals.stream()
-                .map(approval -> {
-                    Topics topic = approval.getTopic();
-                    logger.debug("Processing topic: id={}, title={}, status={}", 
-                                topic.getId(), topic.getTitle(), topic.getStatus());
-                    
-                    // Return topics that are in review process, approved, or rejected
-                    if (topic.getStatus() == TopicStatus.UNDER_REVIEW || 
-                        topic.getStatus() == TopicStatus.APPROVED ||
-                        topic.getStatus() == TopicStatus.REJECTED) {
-                        return convertToTopicWithApprovalStatusDTO(topic, userEmail);
-                    }
-                    return null;
-                })
-                .filter(dto -> dto != null)
-                .distinct() // Remove duplicates if any
-                .collect(Collectors.toList());
+        // Topics user has approved/rejected that are in review process, approved, or rejected (one query)
+        List<Topics> topics = topicsRepository.findApprovedByApprover(userEmail, REVIEWED_BY_USER_STATUSES);
+        List<TopicWithApprovalStatusResponse> result = convertToTopicWithApprovalStatusDTOs(topics, userEmail);
         
         logger.info("Returning {} approved topics for user {}", result.size(), userEmail);
         return result;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TopicWithApprovalStatusResponse> getFullyApprovedTopics() {
-        // Get all APPROVED topics
-        List<Topics> approvedTopics = topicsRepository.findByStatus(TopicStatus.APPROVED);
+        // APPROVED topics with approval count >= required approvals
+        List<Topics> approvedTopics = topicsRepository.findFullyApprovedByStatus(TopicStatus.APPROVED);
+        return convertToTopicWithApprovalStatusDTOs(approvedTopics, null);
+    }
 
-        // Filter topics with approval count >= required approvals
-        return approvedTopics.stream()
-                .filter(topic -> topic.getApprovalCount() >= topic.getRequiredApprovals())
-                .map(topic -> convertToTopicWithApprovalStatusDTO(topic, null))
-                .collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TopicWithApprovalStatusResponse> getFullyApprovedTopics(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<Topics> approvedTopics = topicsRepository.findFullyApprovedByStatus(
+                TopicStatus.APPROVED, parseIdCursor(cursor), PageRequest.of(0, pageSize + 1));
+        return toCursorPage(approvedTopics, pageSize, topic -> String.valueOf(topic.getId()),
+                topics -> convertToTopicWithApprovalStatusDTOs(topics, null));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean canUserEditTopic(Long topicId, Long accountId) {
         if (accountId == null) {
             return false;
@@ -706,9 +827,29 @@ public class TopicsServiceImpl implements TopicService {
     }
 
     private TopicWithApprovalStatusResponse convertToTopicWithApprovalStatusDTO(Topics topic, String userEmail) {
-        // Get all approvals for this topic
-        List<TopicApproval> approvals = topicApprovalRepository.findByTopicId(topic.getId());
-        
+        return convertToTopicWithApprovalStatusDTOs(List.of(topic), userEmail).get(0);
+    }
+
+    /**
+     * Bulk assembler: loads the approvals of all given topics with one IN query and builds
+     * the DTOs in one pass, so the query count does not grow with the list size.
+     */
+    private List<TopicWithApprovalStatusResponse> convertToTopicWithApprovalStatusDTOs(List<Topics> topics, String userEmail) {
+        if (topics.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> topicIds = topics.stream().map(Topics::getId).distinct().toList();
+        Map<Long, List<TopicApproval>> approvalsByTopic = topicApprovalRepository.findByTopicIdIn(topicIds).stream()
+                .collect(Collectors.groupingBy(approval -> approval.getTopic().getId()));
+
+        return topics.stream()
+                .map(topic -> convertToTopicWithApprovalStatusDTO(
+                        topic, userEmail, approvalsByTopic.getOrDefault(topic.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    private TopicWithApprovalStatusResponse convertToTopicWithApprovalStatusDTO(Topics topic, String userEmail,
+                                                                                List<TopicApproval> approvals) {
         List<TopicApprovalDTOResponse> approvalDTOs = approvals.stream()
                 .map(approval -> TopicApprovalDTOResponse.builder()
                         .id(approval.getId())
@@ -720,9 +861,9 @@ public class TopicsServiceImpl implements TopicService {
                         .build())
                 .collect(Collectors.toList());
 
-        // Check if user has approved
-        boolean hasUserApproved = userEmail != null && 
-                topicApprovalRepository.existsByTopicIdAndApproverEmail(topic.getId(), userEmail);
+        // Check if user has approved (derived from the loaded approvals, no extra query)
+        boolean hasUserApproved = userEmail != null && approvals.stream()
+                .anyMatch(approval -> userEmail.equals(approval.getApproverEmail()));
 
         // Create approval status string
         String approvalStatus = topic.getApprovalCount() + "/" + topic.getRequiredApprovals();
@@ -744,54 +885,4 @@ public class TopicsServiceImpl implements TopicService {
                 .approvals(approvalDTOs)
                 .build();
     }
-
-    /**
-     * Send email notification to all topic owners (creator and members) when topic is fully approved
-     */
-    private void sendTopicApprovedEmails(Topics topic) {
-        if (accountService == null) {
-            logger.warn("AccountService is not available, skipping email notification for topic {}", topic.getId());
-            return;
-        }
-
-        try {
-            // Get all topic members (creator and members)
-            List<AccountTopics> accountTopics = accountTopicsRepository.findByTopicsId(topic.getId());
-            
-            if (accountTopics.isEmpty()) {
-                logger.warn("No members found for topic {}, skipping email notification", topic.getId());
-                return;
-            }
-
-            String topicTitle = topic.getTitle() != null ? topic.getTitle() : "Đề tài của bạn";
-            String topicId = topic.getId().toString();
-
-            // Send email to each member
-            for (AccountTopics accountTopic : accountTopics) {
-                try {
-                    Long accountId = accountTopic.getAccountId();
-                    if (accountId == null) {
-                        logger.warn("AccountId is null for AccountTopic {}, skipping", accountTopic.getId());
-                        continue;
-                    }
-
-                    // Get account info to get email
-                    AccountDTO account = accountService.getAccountById(accountId);
-                    if (account != null && account.getEmail() != null && !account.getEmail().isEmpty()) {
-                        accountService.sendTopicApprovedEmail(account.getEmail(), topicTitle, topicId);
-                        logger.info("Sent approval email to {} for topic {}", account.getEmail(), topic.getId());
-                    } else {
-                        logger.warn("Could not get email for accountId {} for topic {}", accountId, topic.getId());
-                    }
-                } catch (Exception e) {
-                    // Log error but continue sending to other members
-                    logger.error("Failed to send approval email to accountId {} for topic {}: {}", 
-                                accountTopic.getAccountId(), topic.getId(), e.getMessage(), e);
-                }
-            }
-        } catch (Exception e) {
-            // Don't throw exception, just log error
-            logger.error("Failed to send approval emails for topic {}: {}", topic.getId(), e.getMessage(), e);
-        }
-    }
 }
@@ -0,0 +1,186 @@
+package mss.project.topicapprovalservice.configs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import mss.project.topicapprovalservice.pojos.Council;
+import org.hibernate.jpa.HibernateHints;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Routing between two in-memory H2 databases standing in for primary and replica; each
+ * transaction reports which database it ran on.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.connection-init-sql=SELECT 1",
+        "datasource.replica.enabled=true",
+        "datasource.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "datasource.replica.hikari.connection-init-sql=SELECT 1",
+        "datasource.replica.lag-query=SELECT 0"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReadReplicaConfig.class, SecondLevelCacheConfig.class, ReadReplicaRoutingTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReadReplicaRoutingTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaHealthMonitor replicaHealthMonitor;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @BeforeEach
+    void replicaHealthy() {
+        replicaHealthMonitor.probe();
+    }
+
+    @AfterEach
+    void closeOpenInView() {
+        if (TransactionSynchronizationManager.hasResource(entityManagerFactory)) {
+            EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            EntityManagerFactoryUtils.closeEntityManager(holder.getEntityManager());
+        }
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplicaAndWritesUsePrimary() {
+        assertEquals("REPLICA", databaseIn(true));
+        assertEquals("PRIMARY", databaseIn(false));
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhileReplicaIsDown() {
+        replicaHealthMonitor.markDown(new IllegalStateException("down"));
+        assertEquals("PRIMARY", databaseIn(true));
+
+        replicaHealthMonitor.probe();
+        assertEquals("REPLICA", databaseIn(true));
+    }
+
+    @Test
+    void openEntityManagerDoesNotCarryReplicaConnectionIntoWrites() {
+        // Như OpenEntityManagerInViewInterceptor: một EntityManager cho cả request
+        TransactionSynchronizationManager.bindResource(entityManagerFactory,
+                new EntityManagerHolder(entityManagerFactory.createEntityManager()));
+
+        assertEquals("REPLICA", databaseIn(true));
+        assertEquals("PRIMARY", databaseIn(false));
+    }
+
+    @Test
+    void staleReplicaReadsDoNotReachSecondLevelCache() throws SQLException {
+        Council council = new Council();
+        council.setCouncilName("Before");
+        Long councilId = inTransaction(false, () -> {
+            entityManager.persist(council);
+            return council.getId();
+        });
+        // Replica dừng ở bản cũ
+        copyCouncilsToReplica();
+        inTransaction(false, () -> {
+            entityManager.find(Council.class, councilId).setCouncilName("After");
+            return null;
+        });
+        // Như entry cache vừa hết hạn
+        entityManagerFactory.getCache().evictAll();
+
+        assertEquals("Before", inTransaction(true, () -> entityManager.find(Council.class, councilId).getCouncilName()));
+        assertEquals("Before", inTransaction(true, () -> cachedCouncilName(councilId)));
+
+        assertEquals("After", inTransaction(false, () -> entityManager.find(Council.class, councilId).getCouncilName()));
+        assertEquals("After", inTransaction(false, () -> cachedCouncilName(councilId)));
+        assertTrue(entityManagerFactory.getCache().contains(Council.class, councilId));
+        // Đọc lại qua replica giờ lấy bản mới từ cache
+        assertEquals("After", inTransaction(true, () -> entityManager.find(Council.class, councilId).getCouncilName()));
+    }
+
+    private String cachedCouncilName(Long councilId) {
+        return entityManager.createQuery("SELECT c.councilName FROM Council c WHERE c.id = :id", String.class)
+                .setParameter("id", councilId)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getSingleResult();
+    }
+
+    private void copyCouncilsToReplica() throws SQLException {
+        try (Connection primary = primaryDataSource.getConnection();
+             Connection replica = replicaDataSource.getConnection();
+             Statement source = primary.createStatement();
+             Statement target = replica.createStatement()) {
+            target.execute("DROP TABLE IF EXISTS councils");
+            try (ResultSet script = source.executeQuery("SCRIPT NOPASSWORDS NOSETTINGS TABLE councils")) {
+                while (script.next()) {
+                    String statement = script.getString(1);
+                    if (statement.startsWith("CREATE MEMORY TABLE") || statement.startsWith("CREATE INDEX")
+                            || statement.startsWith("INSERT INTO") || statement.startsWith("ALTER TABLE")) {
+                        target.execute(statement);
+                    }
+                }
+            }
+        }
+    }
+
+    private <T> T inTransaction(boolean readOnly, Supplier<T> work) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> work.get());
+    }
+
+    private String databaseIn(boolean readOnly) {
+        return inTransaction(readOnly, () ->
+                String.valueOf(entityManager.createNativeQuery("SELECT DATABASE()").getSingleResult()));
+    }
+}
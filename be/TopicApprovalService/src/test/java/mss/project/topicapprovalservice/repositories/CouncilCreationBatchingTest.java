@@ -0,0 +1,134 @@
+package mss.project.topicapprovalservice.repositories;
+
+import jakarta.persistence.EntityManagerFactory;
+import mss.project.topicapprovalservice.enums.Role;
+import mss.project.topicapprovalservice.enums.Status;
+import mss.project.topicapprovalservice.enums.TopicStatus;
+import mss.project.topicapprovalservice.pojos.Council;
+import mss.project.topicapprovalservice.pojos.CouncilMember;
+import mss.project.topicapprovalservice.pojos.Topics;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Statements sent for one council creation, written the way CouncilPlanningService.persist
+ * does it (saveAll councils, topics, seats). Without JDBC batching (as with the old IDENTITY
+ * ids, which disable insert batching) every row is its own INSERT/UPDATE; with pooled
+ * sequences and hibernate.jdbc.batch_size the rows go out in one batch per table.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.order_updates=true"
+})
+class CouncilCreationBatchingTest {
+
+    private static final int COUNCILS = 10;
+
+    private static final int TOPICS_PER_COUNCIL = 5;
+
+    private static final int MEMBERS_PER_COUNCIL = 4;
+
+    private static final int ROW_WRITES = COUNCILS + COUNCILS * MEMBERS_PER_COUNCIL + COUNCILS * TOPICS_PER_COUNCIL;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CouncilRepository councilRepository;
+
+    @Autowired
+    private TopicsRepository topicsRepository;
+
+    @Autowired
+    private CouncilMemberRepository councilMemberRepository;
+
+    @Test
+    void councilCreationSendsOneBatchPerTable() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Session session = entityManager.getEntityManager().unwrap(Session.class);
+
+        // Trước: mỗi dòng một statement
+        session.setJdbcBatchSize(1);
+        long unbatched = statementsToCreateCouncils(statistics);
+        assertEquals(ROW_WRITES, statistics.getEntityInsertCount() + statistics.getEntityUpdateCount());
+        assertTrue(unbatched >= ROW_WRITES, "expected one statement per row but got " + unbatched);
+
+        // Sau: batch_size của cấu hình
+        session.setJdbcBatchSize(null);
+        long batched = statementsToCreateCouncils(statistics);
+        assertEquals(COUNCILS + COUNCILS * MEMBERS_PER_COUNCIL, statistics.getEntityInsertCount());
+        assertEquals(COUNCILS * TOPICS_PER_COUNCIL, statistics.getEntityUpdateCount());
+        // 3 batches (councils, seats, topics) + at most 2 sequence calls per inserted table
+        // (the pooled optimizer calls nextval twice the first time it is used)
+        assertTrue(batched <= 7, "expected batched writes but got " + batched + " statements");
+    }
+
+    /**
+     * Creates a fresh set of councils over newly approved topics and returns the statements
+     * prepared for the council creation alone.
+     */
+    private long statementsToCreateCouncils(Statistics statistics) {
+        List<Topics> approved = new ArrayList<>();
+        for (int i = 0; i < COUNCILS * TOPICS_PER_COUNCIL; i++) {
+            Topics topic = new Topics();
+            topic.setTitle("Topic " + i);
+            topic.setStatus(TopicStatus.APPROVED);
+            approved.add(entityManager.persist(topic));
+        }
+        entityManager.flush();
+        statistics.clear();
+
+        List<Council> councils = new ArrayList<>();
+        for (int i = 0; i < COUNCILS; i++) {
+            Council council = new Council();
+            council.setCouncilName("Hội Đồng Chấm " + i);
+            council.setSemester("Học kỳ SU25");
+            council.setStatus(Status.PLANNED);
+            council.setDefenseDate(LocalDate.of(2025, 8, 1).plusDays(i));
+            councils.add(council);
+        }
+        councilRepository.saveAll(councils);
+
+        List<Topics> topics = new ArrayList<>();
+        List<CouncilMember> members = new ArrayList<>();
+        for (int i = 0; i < COUNCILS; i++) {
+            for (int j = 0; j < TOPICS_PER_COUNCIL; j++) {
+                Topics topic = approved.get(i * TOPICS_PER_COUNCIL + j);
+                topic.setCouncil(councils.get(i));
+                topic.setDefenseTime(LocalTime.of(8, 0).plusMinutes(105L * j));
+                topic.setStatus(TopicStatus.ASSIGNED_TO_COUNCIL);
+                topics.add(topic);
+            }
+            for (int j = 0; j < MEMBERS_PER_COUNCIL; j++) {
+                CouncilMember member = new CouncilMember();
+                member.setAccountId(100L + j);
+                member.setRole(j == 0 ? Role.CHAIRMAN : j == 1 ? Role.SECRETARY : Role.MEMBER);
+                member.setCouncil(councils.get(i));
+                members.add(member);
+            }
+        }
+        topicsRepository.saveAll(topics);
+        councilMemberRepository.saveAll(members);
+        entityManager.flush();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,85 @@
+package mss.project.topicapprovalservice.repositories;
+
+import jakarta.persistence.EntityManagerFactory;
+import mss.project.topicapprovalservice.enums.Role;
+import mss.project.topicapprovalservice.enums.Status;
+import mss.project.topicapprovalservice.enums.TopicStatus;
+import mss.project.topicapprovalservice.pojos.Council;
+import mss.project.topicapprovalservice.pojos.CouncilMember;
+import mss.project.topicapprovalservice.pojos.Topics;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class CouncilMemberRepositoryTest {
+
+    private static final long LECTURER_ID = 42L;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CouncilMemberRepository councilMemberRepository;
+
+    @Test
+    void myCouncilsLoadsMemberCouncilAndTopicsInOneStatement() {
+        for (int i = 0; i < 3; i++) {
+            Council council = new Council();
+            council.setCouncilName("Council " + i);
+            council.setSemester("Học kỳ SU25");
+            council.setStatus(Status.PLANNED);
+            council.setDefenseDate(LocalDate.of(2025, 8, 1).plusDays(i));
+            entityManager.persist(council);
+
+            for (int j = 0; j < 2; j++) {
+                Topics topic = new Topics();
+                topic.setTitle("Topic " + i + "-" + j);
+                topic.setStatus(TopicStatus.ASSIGNED_TO_COUNCIL);
+                topic.setCouncil(council);
+                entityManager.persist(topic);
+            }
+
+            CouncilMember member = new CouncilMember();
+            member.setAccountId(LECTURER_ID);
+            member.setRole(Role.MEMBER);
+            member.setCouncil(council);
+            entityManager.persist(member);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<CouncilMember> members = councilMemberRepository.findWithCouncilAndTopicsByAccountId(LECTURER_ID);
+        // Chạm vào đúng các field mà getCouncilResponseByAccountId dùng
+        int topicCount = 0;
+        for (CouncilMember member : members) {
+            Council council = member.getCouncil();
+            council.getCouncilName();
+            for (Topics topic : council.getTopics()) {
+                topic.getTitle();
+                topicCount++;
+            }
+        }
+
+        assertEquals(3, members.size());
+        assertEquals(6, topicCount);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
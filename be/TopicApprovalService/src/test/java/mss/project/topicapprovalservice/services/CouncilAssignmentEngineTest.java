@@ -0,0 +1,165 @@
+package mss.project.topicapprovalservice.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The solver on its own, without Spring: every plan must keep supervisors off their own
+ * topics, respect the per-day limit (existing bookings included), and report groups it
+ * cannot staff instead of failing.
+ */
+class CouncilAssignmentEngineTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 6, 2);
+
+    private final CouncilAssignmentEngine engine = new CouncilAssignmentEngine();
+
+    @Test
+    void noLecturerSitsOnACouncilForATopicTheySupervise() {
+        List<Long> lecturers = lecturers(20);
+        List<List<Long>> groups = new ArrayList<>();
+        Map<Long, Set<Long>> conflicts = new HashMap<>();
+        for (int g = 0; g < 30; g++) {
+            List<Long> topics = List.of(1000L + 2 * g, 1001L + 2 * g);
+            groups.add(topics);
+            for (Long topicId : topics) {
+                conflicts.put(topicId, Set.of(lecturers.get((int) (topicId % 20)), lecturers.get((int) ((topicId + 7) % 20))));
+            }
+        }
+        CouncilAssignmentEngine.Problem problem = problem(lecturers, groups, conflicts, Map.of(), 10, 2);
+
+        CouncilAssignmentEngine.Plan plan = engine.plan(problem);
+
+        assertTrue(plan.getInfeasibleGroups().isEmpty());
+        assertEquals(groups.size(), plan.getAssignments().size());
+        assertValid(problem, plan);
+    }
+
+    @Test
+    void respectsDailyLimitAndExistingBookings() {
+        List<Long> lecturers = lecturers(8);
+        // Ngày đầu tiên sáu giảng viên đã kín lịch, chỉ còn hai người rảnh
+        Map<LocalDate, List<Long>> booked = Map.of(START, lecturers.subList(0, 6));
+        List<List<Long>> groups = List.of(List.of(1L), List.of(2L), List.of(3L), List.of(4L));
+        CouncilAssignmentEngine.Problem problem = problem(lecturers, groups, Map.of(), booked, 3, 1);
+
+        CouncilAssignmentEngine.Plan plan = engine.plan(problem);
+
+        assertTrue(plan.getInfeasibleGroups().isEmpty());
+        assertEquals(4, plan.getAssignments().size());
+        assertTrue(plan.getAssignments().stream().noneMatch(assignment -> assignment.getDate().equals(START)));
+        assertValid(problem, plan);
+    }
+
+    @Test
+    void unstaffableGroupIsReportedInsteadOfThrown() {
+        List<Long> lecturers = lecturers(5);
+        List<List<Long>> groups = List.of(List.of(1L), List.of(2L, 3L));
+        // Nhóm 1: hai giảng viên xung đột, chỉ còn ba người cho bốn ghế
+        Map<Long, Set<Long>> conflicts = Map.of(2L, Set.of(lecturers.get(0)), 3L, Set.of(lecturers.get(1)));
+        CouncilAssignmentEngine.Problem problem = problem(lecturers, groups, conflicts, Map.of(), 5, 2);
+
+        CouncilAssignmentEngine.Plan plan = engine.plan(problem);
+
+        assertEquals(1, plan.getAssignments().size());
+        assertEquals(0, plan.getAssignments().get(0).getGroupIndex());
+        assertEquals(1, plan.getInfeasibleGroups().size());
+        CouncilAssignmentEngine.InfeasibleGroup infeasible = plan.getInfeasibleGroups().get(0);
+        assertEquals(1, infeasible.getGroupIndex());
+        assertEquals(List.of(2L, 3L), infeasible.getTopicIds());
+        assertFalse(infeasible.getReason().isBlank());
+        assertValid(problem, plan);
+    }
+
+    @Test
+    void plansAThousandTopicsQuickly() {
+        Random random = new Random(42);
+        List<Long> lecturers = lecturers(120);
+        List<List<Long>> groups = new ArrayList<>();
+        Map<Long, Set<Long>> conflicts = new HashMap<>();
+        long topicId = 1;
+        for (int g = 0; g < 250; g++) {
+            List<Long> topics = new ArrayList<>();
+            for (int t = 0; t < 4; t++, topicId++) {
+                topics.add(topicId);
+                int supervisor = random.nextInt(120);
+                int coSupervisor = (supervisor + 1 + random.nextInt(119)) % 120;
+                conflicts.put(topicId, Set.of(lecturers.get(supervisor), lecturers.get(coSupervisor)));
+            }
+            groups.add(topics);
+        }
+        Map<LocalDate, List<Long>> booked = Map.of(START, lecturers.subList(0, 40), START.plusDays(1), lecturers.subList(40, 80));
+        CouncilAssignmentEngine.Problem problem = problem(lecturers, groups, conflicts, booked, 20, 2);
+
+        // Giới hạn rộng rãi để không chập chờn trên CI; thực tế chạy dưới một giây
+        CouncilAssignmentEngine.Plan plan = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> engine.plan(problem));
+
+        assertTrue(plan.getInfeasibleGroups().isEmpty());
+        assertEquals(groups.size(), plan.getAssignments().size());
+        assertValid(problem, plan);
+    }
+
+    private static void assertValid(CouncilAssignmentEngine.Problem problem, CouncilAssignmentEngine.Plan plan) {
+        Map<LocalDate, Map<Long, Integer>> seats = new HashMap<>();
+        problem.getExistingBookings().forEach((date, booked) -> booked.forEach(lecturerId ->
+                seats.computeIfAbsent(date, d -> new HashMap<>()).merge(lecturerId, 1, Integer::sum)));
+
+        for (CouncilAssignmentEngine.Assignment assignment : plan.getAssignments()) {
+            List<Long> council = new ArrayList<>(assignment.getMemberIds());
+            council.add(assignment.getChairmanId());
+            council.add(assignment.getSecretaryId());
+            assertEquals(CouncilAssignmentEngine.MEMBERS_PER_COUNCIL, new HashSet<>(council).size());
+
+            Set<Long> supervisors = assignment.getTopicIds().stream()
+                    .flatMap(topic -> problem.getConflictsByTopic().getOrDefault(topic, Set.of()).stream())
+                    .collect(Collectors.toSet());
+            assertTrue(council.stream().noneMatch(supervisors::contains),
+                    () -> "Group " + assignment.getGroupIndex() + " is judged by its own supervisor");
+
+            LocalDate date = assignment.getDate();
+            assertFalse(date.isBefore(problem.getStartDate()));
+            assertTrue(date.isBefore(problem.getStartDate().plusDays(problem.getMaxDays())));
+            council.forEach(lecturerId -> seats.computeIfAbsent(date, d -> new HashMap<>()).merge(lecturerId, 1, Integer::sum));
+        }
+        seats.forEach((date, byLecturer) -> byLecturer.forEach((lecturerId, count) ->
+                assertTrue(count <= problem.getMaxCouncilsPerLecturerPerDay(),
+                        () -> "Lecturer " + lecturerId + " has " + count + " councils on " + date)));
+    }
+
+    private static CouncilAssignmentEngine.Problem problem(List<Long> lecturers, List<List<Long>> groups,
+                                                           Map<Long, Set<Long>> conflicts,
+                                                           Map<LocalDate, List<Long>> booked,
+                                                           int maxDays, int perDay) {
+        return CouncilAssignmentEngine.Problem.builder()
+                .lecturerIds(lecturers)
+                .topicGroups(groups)
+                .conflictsByTopic(conflicts)
+                .existingBookings(booked)
+                .existingWorkload(Map.of())
+                .startDate(START)
+                .maxDays(maxDays)
+                .maxCouncilsPerLecturerPerDay(perDay)
+                .localSearchPasses(5)
+                .build();
+    }
+
+    private static List<Long> lecturers(int count) {
+        return LongStream.rangeClosed(1, count).boxed().toList();
+    }
+}
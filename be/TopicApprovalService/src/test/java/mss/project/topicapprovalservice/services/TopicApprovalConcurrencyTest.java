@@ -0,0 +1,179 @@
+package mss.project.topicapprovalservice.services;
+
+import mss.project.topicapprovalservice.enums.TopicRole;
+import mss.project.topicapprovalservice.enums.TopicStatus;
+import mss.project.topicapprovalservice.exceptions.AppException;
+import mss.project.topicapprovalservice.exceptions.ErrorCode;
+import mss.project.topicapprovalservice.pojos.AccountTopics;
+import mss.project.topicapprovalservice.pojos.EmailOutbox;
+import mss.project.topicapprovalservice.pojos.TopicApproval;
+import mss.project.topicapprovalservice.pojos.Topics;
+import mss.project.topicapprovalservice.repositories.AccountTopicsRepository;
+import mss.project.topicapprovalservice.repositories.EmailOutboxRepository;
+import mss.project.topicapprovalservice.repositories.TopicApprovalRepository;
+import mss.project.topicapprovalservice.repositories.TopicsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hundreds of approvals fired in parallel at a handful of topics (plus duplicate submissions by
+ * the same approver). Every topic must end APPROVED with exactly requiredApprovals approvals,
+ * one first approver and one queued email; every other call must fail with a business error.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({TopicsServiceImpl.class, EmailOutboxService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TopicApprovalConcurrencyTest {
+
+    private static final int TOPICS = 40;
+
+    private static final int APPROVERS_PER_TOPIC = 8;
+
+    private static final int DUPLICATE_SUBMISSIONS = 2;
+
+    private static final int THREADS = 32;
+
+    @MockitoBean
+    private AuthorizationService authorizationService;
+
+    @MockitoBean
+    private AccountService accountService;
+
+    @MockitoBean
+    private CouncilService councilService;
+
+    @MockitoBean
+    private ResourceCleanupService resourceCleanupService;
+
+    @MockitoBean
+    private PlagiarismService plagiarismService;
+
+    @Autowired
+    private TopicService topicService;
+
+    @Autowired
+    private TopicsRepository topicsRepository;
+
+    @Autowired
+    private TopicApprovalRepository topicApprovalRepository;
+
+    @Autowired
+    private AccountTopicsRepository accountTopicsRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @AfterEach
+    void cleanUp() {
+        emailOutboxRepository.deleteAllInBatch();
+        topicApprovalRepository.deleteAllInBatch();
+        accountTopicsRepository.deleteAllInBatch();
+        topicsRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void parallelApprovalsNeverLoseUpdates() throws Exception {
+        List<Long> topicIds = createTopics();
+
+        List<Runnable> approvals = new ArrayList<>();
+        for (Long topicId : topicIds) {
+            for (int approver = 0; approver < APPROVERS_PER_TOPIC; approver++) {
+                String email = "lecturer" + approver + "@fpt.edu.vn";
+                // Người duyệt đầu tiên bấm nhiều lần: các request trùng chạy song song
+                int submissions = approver == 0 ? 1 + DUPLICATE_SUBMISSIONS : 1;
+                for (int i = 0; i < submissions; i++) {
+                    approvals.add(() -> topicService.approveTopicV2(topicId, email, email, null));
+                }
+            }
+        }
+        Collections.shuffle(approvals);
+
+        AtomicInteger succeeded = new AtomicInteger();
+        Map<ErrorCode, AtomicInteger> rejected = new ConcurrentHashMap<>();
+        List<Throwable> unexpected = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Runnable approval : approvals) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        approval.run();
+                        succeeded.incrementAndGet();
+                    } catch (AppException e) {
+                        rejected.computeIfAbsent(e.getErrorCode(), code -> new AtomicInteger()).incrementAndGet();
+                    } catch (Throwable e) {
+                        unexpected.add(e);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected);
+        assertEquals(TOPICS * 2, succeeded.get());
+        assertEquals(approvals.size() - TOPICS * 2,
+                rejected.getOrDefault(ErrorCode.INVALID_TOPIC_STATUS, new AtomicInteger()).get()
+                        + rejected.getOrDefault(ErrorCode.TOPIC_ALREADY_APPROVED, new AtomicInteger()).get(),
+                () -> "Rejections: " + rejected);
+
+        Map<Long, List<TopicApproval>> approvalsByTopic = topicApprovalRepository.findByTopicIdIn(topicIds).stream()
+                .collect(Collectors.groupingBy(approval -> approval.getTopic().getId()));
+        Map<Long, Long> emailsByTopic = emailOutboxRepository.findAll().stream()
+                .collect(Collectors.groupingBy(EmailOutbox::getTopicId, Collectors.counting()));
+        for (Topics topic : topicsRepository.findAllById(topicIds)) {
+            List<TopicApproval> recorded = approvalsByTopic.getOrDefault(topic.getId(), List.of());
+            assertEquals(TopicStatus.APPROVED, topic.getStatus());
+            assertEquals(2, topic.getApprovalCount());
+            assertEquals(2, recorded.size());
+            assertEquals(1, recorded.stream().filter(TopicApproval::getApprovedFirst).count());
+            assertEquals(1L, emailsByTopic.get(topic.getId()));
+        }
+    }
+
+    private List<Long> createTopics() {
+        List<Long> topicIds = new ArrayList<>();
+        for (int i = 0; i < TOPICS; i++) {
+            Topics topic = new Topics();
+            topic.setTitle("Topic " + i);
+            topic.setStatus(TopicStatus.PENDING);
+            topic = topicsRepository.save(topic);
+
+            AccountTopics creator = new AccountTopics();
+            creator.setTopics(topic);
+            creator.setAccountId(1000L + i);
+            creator.setRole(TopicRole.CREATOR);
+            accountTopicsRepository.save(creator);
+            topicIds.add(topic.getId());
+        }
+        return topicIds;
+    }
+}
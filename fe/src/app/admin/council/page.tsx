@@ -196,8 +196,17 @@ const CouncilPage: React.FC = () => {
         topicId: allTopicIds
       };
 
-      await councilService.createCouncil(request);
-      messageApi.success('Thành lập hội đồng thành công!');
+      const result = await councilService.createCouncil(request);
+      if (result.councils.length === 0) {
+        messageApi.error('Không xếp được hội đồng nào cho các đề tài đã chọn (không đủ giảng viên hợp lệ)');
+        return;
+      }
+      if (result.infeasibleGroups.length > 0) {
+        const unassigned = result.infeasibleGroups.reduce((count, group) => count + group.topicIds.length, 0);
+        messageApi.warning(`Đã thành lập ${result.councils.length} hội đồng, còn ${unassigned} đề tài chưa xếp được hội đồng`);
+      } else {
+        messageApi.success('Thành lập hội đồng thành công!');
+      }
       
       // Chuyển đến trang danh sách sau 1.5 giây
       setTimeout(() => {
@@ -1,6 +1,8 @@
 import {
   CouncilCreateRequest,
   CouncilResponse,
+  CouncilAssignmentResponse,
+  CouncilAssignmentApiResponse,
   CouncilApiResponse,
   CouncilListApiResponse,
   MyCouncilItem,
@@ -33,9 +35,10 @@ class CouncilService {
   }
 
   /**
-   * Tạo hội đồng mới
+   * Tạo hội đồng mới. Trả về các hội đồng đã tạo và các nhóm đề tài không xếp được;
+   * với 422 (không tạo được hội đồng nào) councils rỗng và infeasibleGroups cho biết lý do.
    */
-  async createCouncil(request: CouncilCreateRequest): Promise<CouncilResponse> {
+  async createCouncil(request: CouncilCreateRequest): Promise<CouncilAssignmentResponse> {
     try {
       console.log('Creating council with request:', request);
       const response = await fetch(`${this.baseUrl}/create`, {
@@ -46,12 +49,12 @@ class CouncilService {
       });
 
       console.log('Response status:', response);
-      if (!response.ok) {
+      if (!response.ok && response.status !== 422) {
         throw new Error(`HTTP error! status: ${response.status}`);
-      }     
-      const data: CouncilApiResponse = await response.json();
-      
-      if (data.code !== 201) {
+      }
+      const data: CouncilAssignmentApiResponse = await response.json();
+
+      if ((data.code !== 201 && data.code !== 422) || !data.data) {
         throw new Error(data.message || 'Failed to create council');
       }
 
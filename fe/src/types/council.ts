@@ -46,6 +46,24 @@ export interface CouncilResponse {
   topic: CouncilTopic[]; // Array of topics
 }
 
+// Nhóm đề tài không xếp được hội đồng (matches UnassignedTopicGroupResponse)
+export interface UnassignedTopicGroup {
+  topicIds: number[];
+  reason: string;
+}
+
+// Kết quả tạo hội đồng (matches CouncilAssignmentResponse from backend)
+export interface CouncilAssignmentResponse {
+  councils: CouncilResponse[];
+  infeasibleGroups: UnassignedTopicGroup[];
+}
+
+export interface CouncilAssignmentApiResponse {
+  code: number;
+  message: string;
+  data?: CouncilAssignmentResponse;
+}
+
 // API response wrapper
 export interface CouncilApiResponse {
   code: number;